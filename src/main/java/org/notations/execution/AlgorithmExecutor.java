@@ -0,0 +1,250 @@
+package org.notations.execution;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1> Algorithm Executor </h1>
+ * <p> Runs algorithm invocations (a mergeSort, a binarySearch, a solveTSP, ...) as requests,
+ * each on its own virtual thread. Virtual threads are cheap, so thousands of concurrent
+ * requests cost a few kilobytes each instead of a platform thread each.</p>
+ * <p> <h3> Keeping small requests responsive </h3>
+ * Virtual threads share a small pool of carrier threads, one per core.
+ * A CPU-bound algorithm never blocks, so it holds its carrier until it finishes,
+ * and a few long TSP searches could occupy every carrier.
+ * Requests submitted as {@link Workload#CPU_HEAVY} therefore need a permit to run,
+ * and there are fewer permits than cores, so some carriers are always left for
+ * {@link Workload#LIGHT} requests. Heavy requests waiting for a permit are queued
+ * (the waiting virtual thread is parked and holds no carrier) and counted in the metrics.</p>
+ * <p> <h3> Deadlines and cancellation </h3>
+ * Every request gets a {@link CancellationToken}. Cancelling the returned future,
+ * or reaching the deadline, cancels the token and interrupts the virtual thread.
+ * Algorithms that check the token stop early.</p>
+ * <p> A deadline always ends the request with a TimeoutException: the future fails right away
+ * when the deadline passes, even if the algorithm does not check the token, and a result
+ * returned after the deadline is dropped. This includes the partial results of the cancellable
+ * searches, which return normally once their token expires; the outcome never depends on whether
+ * the algorithm or the deadline timer got there first. A request that wants the best partial result
+ * instead should be submitted without a deadline and give the search its own
+ * time-limited token inside the task.
+ * A request counts as completed only if its result arrived before the deadline,
+ * and as cancelled if it was cancelled or timed out.</p>
+ */
+public class AlgorithmExecutor implements AutoCloseable {
+
+    /**
+     * How much CPU a request is expected to use.
+     */
+    public enum Workload {
+        /** Short requests, such as a search or a sort of a small array. Never queued. */
+        LIGHT,
+        /** Long CPU-bound requests, such as exhaustive searches. Limited by the CPU permits. */
+        CPU_HEAVY
+    }
+
+    // How long close() waits for running requests before cancelling them.
+    private static final Duration CLOSE_GRACE_PERIOD = Duration.ofSeconds(30);
+
+    private final ExecutorService virtualThreads =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("algorithm-", 0).factory());
+    private final ScheduledThreadPoolExecutor deadlines =
+            new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().daemon().name("algorithm-deadlines").factory());
+    private final Semaphore cpuPermits;
+    // Requests whose future is not complete yet, cancelled by close() after the grace period.
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder running = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    /**
+     * Leaves one core free for light requests.
+     */
+    public AlgorithmExecutor() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * @param cpuPermits max number of CPU-heavy requests running at the same time
+     */
+    public AlgorithmExecutor(int cpuPermits) {
+        if (cpuPermits < 1) {
+            throw new IllegalArgumentException("cpuPermits must be positive: " + cpuPermits);
+        }
+        this.cpuPermits = new Semaphore(cpuPermits, true);
+        this.deadlines.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * <h2> submit - Without a Deadline </h2>
+     * @param workload light or CPU-heavy
+     * @param task algorithm invocation
+     * @return future result, cancelling it cancels the task
+     */
+    public <T> CompletableFuture<T> submit(Workload workload, AlgorithmTask<T> task) {
+        return submit(workload, null, task);
+    }
+
+    /**
+     * <h2> submit </h2>
+     * @param workload light or CPU-heavy
+     * @param deadline max time from now until the result, including time spent queued, or null for none
+     * @param task algorithm invocation
+     * @return future result, completed with a TimeoutException if the task has not returned
+     * before the deadline, cancelling it cancels the task
+     */
+    public <T> CompletableFuture<T> submit(Workload workload, Duration deadline, AlgorithmTask<T> task) {
+        CancellationToken token = deadline == null ? new CancellationToken() : new CancellationToken(deadline);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        submitted.increment();
+
+        Future<?> execution = virtualThreads.submit(() -> execute(workload, task, token, result));
+        ScheduledFuture<?> timer = deadline == null ? null : deadlines.schedule(
+                () -> result.completeExceptionally(new TimeoutException("Deadline of " + deadline + " passed")),
+                deadline.toNanos(), TimeUnit.NANOSECONDS);
+
+        pending.add(result);
+        result.whenComplete((value, error) -> {
+            pending.remove(result);
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (error == null) {
+                completed.increment();
+                return;
+            }
+            if (error instanceof CancellationException || error instanceof TimeoutException) {
+                cancelled.increment();
+                // Stop the algorithm: cooperatively through the token, and by interrupting its thread.
+                token.cancel();
+                execution.cancel(true);
+            } else {
+                failed.increment();
+            }
+        });
+        return result;
+    }
+
+    private <T> void execute(Workload workload, AlgorithmTask<T> task, CancellationToken token,
+                             CompletableFuture<T> result) {
+        boolean permit = false;
+        try {
+            if (workload == Workload.CPU_HEAVY) {
+                permit = acquireCpuPermit(token);
+                if (!permit) {
+                    result.completeExceptionally(new TimeoutException("Deadline passed while queued for a CPU permit"));
+                    return;
+                }
+            }
+            token.throwIfCancelled();
+            running.increment();
+            T value;
+            try {
+                value = task.run(token);
+            } finally {
+                running.decrement();
+            }
+            if (token.remainingNanos() == 0) {
+                // Returned after the deadline, possibly a partial result: the deadline wins.
+                result.completeExceptionally(new TimeoutException("Deadline passed"));
+            } else {
+                result.complete(value);
+            }
+        } catch (InterruptedException e) {
+            result.cancel(true);
+        } catch (CancellationException e) {
+            if (token.remainingNanos() == 0) {
+                // The algorithm noticed the deadline before the timer did, report it the same way.
+                result.completeExceptionally(new TimeoutException("Deadline passed"));
+            } else {
+                result.cancel(true);
+            }
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        } finally {
+            if (permit) {
+                cpuPermits.release();
+            }
+        }
+    }
+
+    private boolean acquireCpuPermit(CancellationToken token) throws InterruptedException {
+        long queuedAt = System.nanoTime();
+        queued.increment();
+        try {
+            return cpuPermits.tryAcquire(token.remainingNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            queued.decrement();
+            long waited = System.nanoTime() - queuedAt;
+            totalQueueNanos.add(waited);
+            maxQueueNanos.accumulateAndGet(waited, Math::max);
+        }
+    }
+
+    /**
+     * <h2> metrics </h2>
+     * @return snapshot of the request and queueing counters
+     */
+    public ExecutorMetrics metrics() {
+        return new ExecutorMetrics(submitted.sum(), completed.sum(), failed.sum(), cancelled.sum(),
+                running.sum(), queued.sum(), totalQueueNanos.sum(), maxQueueNanos.get());
+    }
+
+    /**
+     * <h2> close </h2>
+     * <p> Stops accepting requests and waits up to 30 seconds for the running ones to finish,
+     * then cancels the rest, see {@link #close(Duration)}.</p>
+     */
+    @Override
+    public void close() {
+        close(CLOSE_GRACE_PERIOD);
+    }
+
+    /**
+     * <h2> close - With a Grace Period </h2>
+     * <p> Stops accepting requests and waits up to gracePeriod for the running and queued ones to finish.
+     * Requests still running after that are cancelled: their futures fail with a CancellationException,
+     * their tokens are cancelled and their threads interrupted, and close returns.</p>
+     * <p> An algorithm that neither checks its token nor reacts to interrupts cannot be stopped:
+     * it keeps running on its virtual thread after close returns, but its result is dropped.</p>
+     * @param gracePeriod max time to wait before cancelling the remaining requests
+     */
+    public void close(Duration gracePeriod) {
+        virtualThreads.shutdown();
+        try {
+            if (!virtualThreads.awaitTermination(gracePeriod.toNanos(), TimeUnit.NANOSECONDS)) {
+                cancelPending();
+            }
+        } catch (InterruptedException e) {
+            cancelPending();
+            Thread.currentThread().interrupt();
+        } finally {
+            deadlines.shutdownNow();
+        }
+    }
+
+    private void cancelPending() {
+        for (CompletableFuture<?> request : pending) {
+            request.cancel(true);
+        }
+        virtualThreads.shutdownNow();
+    }
+}
@@ -0,0 +1,18 @@
+package org.notations.execution;
+
+/**
+ * <h1> Algorithm Task </h1>
+ * <p> One algorithm invocation submitted to an {@link AlgorithmExecutor}.
+ * Long-running tasks should pass the token on to the algorithm, or check it themselves.</p>
+ * @param <T> result type
+ */
+@FunctionalInterface
+public interface AlgorithmTask<T> {
+
+    /**
+     * @param token cancelled when the request is cancelled or its deadline passes
+     * @return result of the algorithm
+     * @throws Exception if the algorithm fails
+     */
+    T run(CancellationToken token) throws Exception;
+}
@@ -0,0 +1,77 @@
+package org.notations.execution;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * <h1> Cancellation Token </h1>
+ * <p> A flag that long-running algorithms check cooperatively, so a caller can stop them
+ * without killing the thread. The token is cancelled explicitly with {@link #cancel()}
+ * or implicitly once its deadline passes.</p>
+ * <p> Checking the token is a volatile read and, with a deadline, a System.nanoTime() call,
+ * so searches check it every few thousand steps rather than at every step.</p>
+ */
+public class CancellationToken {
+
+    private final long deadline;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    /**
+     * A token without a deadline, cancelled only by {@link #cancel()}.
+     */
+    public CancellationToken() {
+        this.deadline = 0;
+        this.hasDeadline = false;
+    }
+
+    /**
+     * @param timeout time from now after which the token counts as cancelled
+     */
+    public CancellationToken(Duration timeout) {
+        this.deadline = System.nanoTime() + timeout.toNanos();
+        this.hasDeadline = true;
+    }
+
+    /**
+     * <h2> cancel </h2>
+     * <p> Asks the algorithm checking this token to stop. Safe to call from any thread, more than once.</p>
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if cancel was called or the deadline passed
+     */
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            cancelled = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * <h2> throwIfCancelled </h2>
+     * @throws CancellationException if the token is cancelled
+     */
+    public void throwIfCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("Cancelled");
+        }
+    }
+
+    /**
+     * @return nanoseconds left until the deadline, Long.MAX_VALUE without a deadline, 0 once it passed
+     */
+    public long remainingNanos() {
+        if (!hasDeadline) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
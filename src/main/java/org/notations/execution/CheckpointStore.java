@@ -0,0 +1,170 @@
+package org.notations.execution;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * <h1> Checkpoint Store </h1>
+ * <p> Keeps the latest {@link SearchCheckpoint} of a search in a local file.</p>
+ * <p> A checkpoint is first written to a temporary file next to the target, forced to disk,
+ * and then renamed over the target in one atomic step, and the directory is forced as well
+ * so the rename itself survives a crash. A crash at any moment leaves either
+ * the previous checkpoint or the new one, never a half-written file.</p>
+ * <p> Some platforms (Windows) cannot open a directory to force it; there the rename is atomic,
+ * but may be lost if the machine crashes right after it, leaving the previous checkpoint.</p>
+ */
+public class CheckpointStore {
+
+    private static final int MAGIC = 0x434B5054; // "CKPT"
+    private static final int VERSION = 2;
+    private static final int MAX_FINGERPRINT_LENGTH = 64;
+
+    private final Path file;
+
+    /**
+     * @param file where the checkpoint is kept
+     */
+    public CheckpointStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * <h2> save </h2>
+     * @param checkpoint state to write, replacing the previous one atomically
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void save(SearchCheckpoint checkpoint) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(checkpoint.fingerprint().length);
+            out.write(checkpoint.fingerprint());
+            out.writeLong(checkpoint.position());
+            out.writeLong(checkpoint.bestCost());
+            out.writeInt(checkpoint.best().length);
+            for (int element : checkpoint.best()) {
+                out.writeInt(element);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Path absolute = file.toAbsolutePath();
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + file, e);
+        }
+        forceDirectory(absolute.getParent());
+    }
+
+    // The rename is an entry in the directory, it is only durable once the directory is on disk too.
+    private void forceDirectory(Path directory) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return; // The platform cannot open directories, see the class documentation.
+        }
+        try (channel) {
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * <h2> load </h2>
+     * @return the saved checkpoint, or empty if there is none
+     * @throws UncheckedIOException if the file exists but cannot be read or is not a checkpoint
+     */
+    public Optional<SearchCheckpoint> load() {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(stream)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a checkpoint file: " + file);
+            }
+            int fingerprintLength = in.readInt();
+            if (fingerprintLength < 0 || fingerprintLength > MAX_FINGERPRINT_LENGTH) {
+                throw new IOException("Corrupt checkpoint file: " + file);
+            }
+            byte[] fingerprint = in.readNBytes(fingerprintLength);
+            if (fingerprint.length != fingerprintLength) {
+                throw new IOException("Truncated checkpoint file: " + file);
+            }
+            long position = in.readLong();
+            long bestCost = in.readLong();
+            int length = in.readInt();
+            if (length < 0 || length > (1 << 24)) {
+                throw new IOException("Corrupt checkpoint file: " + file);
+            }
+            int[] best = new int[length];
+            for (int i = 0; i < length; i++) {
+                best[i] = in.readInt();
+            }
+            return Optional.of(new SearchCheckpoint(fingerprint, position, bestCost, best));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + file, e);
+        }
+    }
+
+    /**
+     * <h2> resume </h2>
+     * @param fingerprint fingerprint of the input of the search about to run, see {@link InputFingerprint}
+     * @param total number of candidates of the search, the saved position must be between 0 and total
+     * @return the saved checkpoint, or empty if there is none
+     * @throws IllegalStateException if the saved checkpoint belongs to another input or its position is out of range
+     */
+    public Optional<SearchCheckpoint> resume(byte[] fingerprint, long total) {
+        Optional<SearchCheckpoint> checkpoint = load();
+        if (checkpoint.isEmpty()) {
+            return checkpoint;
+        }
+        if (!MessageDigest.isEqual(checkpoint.get().fingerprint(), fingerprint)) {
+            throw new IllegalStateException("Checkpoint " + file + " belongs to a different input");
+        }
+        long position = checkpoint.get().position();
+        if (position < 0 || position > total) {
+            throw new IllegalStateException("Checkpoint " + file + " has position " + position
+                    + " outside the search space of " + total + " candidates");
+        }
+        return checkpoint;
+    }
+
+    /**
+     * <h2> delete </h2>
+     * <p> Removes the checkpoint, so the next run starts from the beginning.</p>
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.notations.execution;
+
+/**
+ * <h1> Executor Metrics </h1>
+ * <p> A snapshot of the counters of an {@link AlgorithmExecutor}.</p>
+ * @param submitted tasks submitted
+ * @param completed tasks that returned a result
+ * @param failed tasks that threw an exception
+ * @param cancelled tasks cancelled by the caller or by their deadline
+ * @param running tasks currently running
+ * @param queued CPU-heavy tasks currently waiting for a CPU permit
+ * @param totalQueueNanos total time CPU-heavy tasks spent waiting for a permit
+ * @param maxQueueNanos longest time a CPU-heavy task waited for a permit
+ */
+public record ExecutorMetrics(long submitted, long completed, long failed, long cancelled,
+                              long running, long queued, long totalQueueNanos, long maxQueueNanos) {
+}
@@ -0,0 +1,75 @@
+package org.notations.execution;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * <h1> Input Fingerprint </h1>
+ * <p> Identifies the input of a resumable search, so a {@link SearchCheckpoint} is never resumed
+ * on another input or by another kind of search.</p>
+ * <p> The fingerprint is the SHA-256 digest of the search kind, the shape of the input
+ * (its length, and the length of every row) and all of its values.
+ * A hash like Arrays.hashCode is not enough: it has only 32 bits, and different inputs with
+ * the same hash are easy to find, which would resume a search on the wrong input and return
+ * a result that does not even belong to it.</p>
+ */
+public final class InputFingerprint {
+
+    private InputFingerprint() {
+    }
+
+    /**
+     * @param searchKind name of the search, different searches on the same input get different fingerprints
+     * @param values input of the search
+     * @return 32-byte fingerprint
+     */
+    public static byte[] of(String searchKind, int[] values) {
+        MessageDigest digest = newDigest(searchKind);
+        digest.update(intBytes(1));
+        update(digest, values);
+        return digest.digest();
+    }
+
+    /**
+     * @param searchKind name of the search, different searches on the same input get different fingerprints
+     * @param matrix input of the search, rows may have different lengths
+     * @return 32-byte fingerprint
+     */
+    public static byte[] of(String searchKind, int[][] matrix) {
+        MessageDigest digest = newDigest(searchKind);
+        digest.update(intBytes(2));
+        digest.update(intBytes(matrix.length));
+        for (int[] row : matrix) {
+            update(digest, row);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest(String searchKind) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+        byte[] kind = searchKind.getBytes(StandardCharsets.UTF_8);
+        digest.update(intBytes(kind.length));
+        digest.update(kind);
+        return digest;
+    }
+
+    // Length first, so the boundaries between rows are part of the digest.
+    private static void update(MessageDigest digest, int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (values.length + 1));
+        buffer.putInt(values.length);
+        buffer.asIntBuffer().put(values);
+        digest.update(buffer.array());
+    }
+
+    private static byte[] intBytes(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+}
@@ -0,0 +1,14 @@
+package org.notations.execution;
+
+/**
+ * <h1> Partial Result </h1>
+ * <p> The result of a search that may have been cancelled before it finished.
+ * When complete is false, value holds what was found before the cancellation,
+ * for example the subsets generated so far or the best tour found so far.</p>
+ * @param value result, or the best result so far if the search was cancelled
+ * @param complete true if the search explored everything
+ * @param explored search steps done
+ * @param <T> result type
+ */
+public record PartialResult<T>(T value, boolean complete, long explored) {
+}
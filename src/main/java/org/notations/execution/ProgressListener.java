@@ -0,0 +1,22 @@
+package org.notations.execution;
+
+/**
+ * <h1> Progress Listener </h1>
+ * <p> Receives progress reports from long-running searches. Reports are sent every few thousand
+ * search steps, on the searching thread, so implementations must return quickly.</p>
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * A listener that ignores all reports.
+     */
+    ProgressListener NONE = (explored, total) -> {
+    };
+
+    /**
+     * @param explored search steps done so far
+     * @param total total search steps, or -1 if not known in advance
+     */
+    void onProgress(long explored, long total);
+}
@@ -0,0 +1,42 @@
+package org.notations.execution;
+
+import java.util.Arrays;
+
+/**
+ * <h1> Search Checkpoint </h1>
+ * <p> The state an exhaustive search needs to continue after a restart.
+ * Exhaustive searches visit their candidates in a fixed order (permutations by lexicographic index,
+ * subsets by bitmask), so the position of the next candidate plus the best result so far
+ * is the whole state.</p>
+ * <p> Two checkpoints are equal when their arrays have the same contents, not only when they are the same arrays.</p>
+ * @param fingerprint identifies the input and the kind of search, see {@link InputFingerprint},
+ *                    so a checkpoint is never resumed on another input
+ * @param position index of the next candidate to visit
+ * @param bestCost cost of the best candidate so far, Long.MAX_VALUE if none
+ * @param best best candidate so far, for example a tour or the elements of a subset
+ */
+public record SearchCheckpoint(byte[] fingerprint, long position, long bestCost, int[] best) {
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SearchCheckpoint checkpoint
+                && Arrays.equals(fingerprint, checkpoint.fingerprint)
+                && position == checkpoint.position
+                && bestCost == checkpoint.bestCost
+                && Arrays.equals(best, checkpoint.best);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(fingerprint);
+        result = 31 * result + Long.hashCode(position);
+        result = 31 * result + Long.hashCode(bestCost);
+        return 31 * result + Arrays.hashCode(best);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchCheckpoint[position=" + position + ", bestCost=" + bestCost
+                + ", best=" + Arrays.toString(best) + "]";
+    }
+}
@@ -0,0 +1,71 @@
+package org.notations.execution;
+
+/**
+ * <h1> Search Monitor </h1>
+ * <p> Counts the steps of a search, and every 2^k steps checks the {@link CancellationToken}
+ * and reports to the {@link ProgressListener}. Between checks a step costs one increment and one mask test,
+ * so the checks do not slow down the search.</p>
+ */
+public class SearchMonitor {
+
+    // Check the token and report progress every 2^12 steps.
+    private static final long CHECK_MASK = (1L << 12) - 1;
+
+    private final CancellationToken token;
+    private final ProgressListener listener;
+    private final long total;
+    private long explored;
+    private boolean stopped;
+
+    /**
+     * @param token token to check
+     * @param listener listener to report to
+     * @param total total search steps, or -1 if not known in advance
+     */
+    public SearchMonitor(CancellationToken token, ProgressListener listener, long total) {
+        this.token = token;
+        this.listener = listener;
+        this.total = total;
+    }
+
+    /**
+     * <h2> step </h2>
+     * <p> Called once per search step.</p>
+     * @return true to continue, false once the token is cancelled
+     */
+    public boolean step() {
+        explored++;
+        if ((explored & CHECK_MASK) == 0) {
+            listener.onProgress(explored, total);
+            if (token.isCancelled()) {
+                stopped = true;
+            }
+        }
+        return !stopped;
+    }
+
+    /**
+     * @return true once a check found the token cancelled
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * <h2> finish </h2>
+     * <p> Sends the final progress report.</p>
+     * @param value result, or the best result so far
+     * @return result marked complete if the search was not stopped
+     */
+    public <T> PartialResult<T> finish(T value) {
+        listener.onProgress(explored, total);
+        return new PartialResult<>(value, !stopped, explored);
+    }
+
+    /**
+     * @return search steps done so far
+     */
+    public long explored() {
+        return explored;
+    }
+}
@@ -1,7 +1,18 @@
 package org.notations.exponential;
 
+import org.notations.execution.CancellationToken;
+import org.notations.execution.CheckpointStore;
+import org.notations.execution.InputFingerprint;
+import org.notations.execution.PartialResult;
+import org.notations.execution.ProgressListener;
+import org.notations.execution.SearchCheckpoint;
+import org.notations.execution.SearchMonitor;
+import org.notations.factorial.TSPSolution;
+
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
 /**
  * <h1> Exponential Time: O(2^n) </h1>
@@ -12,6 +23,9 @@ import java.util.List;
  */
 public class ExponentialTime {
 
+    // The checkpoint interval is checked every 2^12 subsets.
+    private static final long CHECKPOINT_CHECK_MASK = (1L << 12) - 1;
+
 
     /**
      * <h2> Generating All Subsets </h2>
@@ -41,6 +55,102 @@ public class ExponentialTime {
         generateSubsetsRecursive(nums, index + 1, current, subsets);
     }
 
+    /**
+     * <h2> Generating All Subsets - Cancellable </h2>
+     * <p> The same recursion as generateSubsets, but every recursive call counts as a step of a
+     * {@link SearchMonitor}: every few thousand steps the token is checked and progress is reported.
+     * Once the token is cancelled the recursion unwinds, and the subsets generated so far are returned.</p>
+     * @param nums intgers array
+     * @param token cancels the search
+     * @param listener receives progress reports, the total is the 2^(n+1) - 1 recursive calls
+     * @return all subsets, or the subsets generated before the cancellation
+     */
+    public PartialResult<List<List<Integer>>> generateSubsets(int[] nums, CancellationToken token,
+                                                              ProgressListener listener) {
+        long total = nums.length < 62 ? (1L << (nums.length + 1)) - 1 : -1;
+        SearchMonitor monitor = new SearchMonitor(token, listener, total);
+        List<List<Integer>> subsets = new ArrayList<>();
+        generateSubsetsRecursive(nums, 0, new ArrayList<>(), subsets, monitor);
+        return monitor.finish(subsets);
+    }
+
+    private void generateSubsetsRecursive(int[] nums, int index, List<Integer> current, List<List<Integer>> subsets,
+                                          SearchMonitor monitor) {
+        if (!monitor.step()) {
+            return;
+        }
+        if (index == nums.length) {
+            subsets.add(new ArrayList<>(current));
+            return;
+        }
+        current.add(nums[index]);
+        generateSubsetsRecursive(nums, index + 1, current, subsets, monitor);
+        current.remove(current.size() - 1);
+        generateSubsetsRecursive(nums, index + 1, current, subsets, monitor);
+    }
+
+
+    /**
+     * <h2> Finding the Best Subset - Resumable </h2>
+     * <p> Visits all 2^n subsets, in the order of their bitmask (bit i set means nums[i] is included),
+     * and keeps the one with the lowest cost.
+     * The state (the next bitmask, the best cost and the best subset) is saved to a {@link CheckpointStore}
+     * every checkpointInterval, when the search is cancelled, and when it finishes.</p>
+     * <p> If the store already holds a checkpoint for the same nums, the search continues from its bitmask,
+     * so a restart loses at most one checkpoint interval of work. The cost function is not part of the
+     * checkpoint, so it must be the same across runs. Delete the checkpoint to start over.</p>
+     * @param nums integers array, at most 62 elements
+     * @param cost cost of a subset, given as the array of its elements
+     * @param store where the checkpoint is kept
+     * @param checkpointInterval time between two checkpoints
+     * @param token cancels the search
+     * @param listener receives progress reports for this run
+     * @return elements of the cheapest subset, or the cheapest so far; explored is the next bitmask,
+     * counted across all runs
+     * @throws IllegalStateException if the store holds a checkpoint of other nums, or a corrupt one
+     */
+    public PartialResult<int[]> findBestSubset(int[] nums, ToLongFunction<int[]> cost, CheckpointStore store,
+                                               Duration checkpointInterval, CancellationToken token,
+                                               ProgressListener listener) {
+        if (nums.length > 62) {
+            throw new IllegalArgumentException("Too many elements for a bitmask search: " + nums.length);
+        }
+        long total = 1L << nums.length;
+        byte[] fingerprint = InputFingerprint.of("findBestSubset", nums);
+        SearchCheckpoint checkpoint = store.resume(fingerprint, total)
+                .orElse(new SearchCheckpoint(fingerprint, 0, Long.MAX_VALUE, new int[0]));
+
+        long bestCost = checkpoint.bestCost();
+        int[] best = checkpoint.best();
+        long mask = checkpoint.position();
+        SearchMonitor monitor = new SearchMonitor(token, listener, total - mask);
+        long intervalNanos = checkpointInterval.toNanos();
+        long lastSave = System.nanoTime();
+        while (mask < total) {
+            int[] subset = new int[Long.bitCount(mask)];
+            for (int i = 0, size = 0; i < nums.length; i++) {
+                if ((mask & (1L << i)) != 0) {
+                    subset[size++] = nums[i];
+                }
+            }
+            long subsetCost = cost.applyAsLong(subset);
+            if (subsetCost < bestCost) {
+                bestCost = subsetCost;
+                best = subset;
+            }
+            mask++;
+            if ((mask & CHECKPOINT_CHECK_MASK) == 0 && System.nanoTime() - lastSave >= intervalNanos) {
+                store.save(new SearchCheckpoint(fingerprint, mask, bestCost, best));
+                lastSave = System.nanoTime();
+            }
+            if (!monitor.step()) {
+                break;
+            }
+        }
+        store.save(new SearchCheckpoint(fingerprint, mask, bestCost, best));
+        monitor.finish(best);
+        return new PartialResult<>(best, mask == total, mask);
+    }
 
     /**
      * <h2> Solving Traveling Salesman Problem (TSP) using Brute Force </h2>
@@ -79,5 +189,53 @@ public class ExponentialTime {
             return minCost;
         }
 
+    /**
+     * <h2> Solving TSP using Brute Force - Cancellable </h2>
+     * <p> The same search as solveTSP, which also remembers the path of the best tour.
+     * Every recursive call counts as a step of a {@link SearchMonitor}.
+     * Once the token is cancelled the search unwinds and returns the best tour found so far.</p>
+     * @param graph graph[i][j] is the distance from city i to city j, 0 if there is no road
+     * @param token cancels the search
+     * @param listener receives progress reports, the total is not known in advance (-1)
+     * @return cheapest tour, or the cheapest found before the cancellation
+     * (cost Long.MAX_VALUE if none was found)
+     */
+    public PartialResult<TSPSolution> solveTSP(int[][] graph, CancellationToken token, ProgressListener listener) {
+        int n = graph.length;
+        SearchMonitor monitor = new SearchMonitor(token, listener, -1);
+        if (n == 0) {
+            return monitor.finish(new TSPSolution(0, new int[0]));
+        }
+        boolean[] visited = new boolean[n];
+        int[] path = new int[n];
+        visited[0] = true;
+        TSPSolution[] best = {new TSPSolution(Long.MAX_VALUE, new int[0])};
+        TSPRecursive(graph, visited, path, 1, 0, monitor, best);
+        return monitor.finish(best[0]);
+    }
+
+    private void TSPRecursive(int[][] graph, boolean[] visited, int[] path, int count, long cost,
+                              SearchMonitor monitor, TSPSolution[] best) {
+        if (!monitor.step()) {
+            return;
+        }
+        int n = graph.length;
+        int current = path[count - 1];
+        if (count == n) {
+            if (graph[current][0] > 0 && cost + graph[current][0] < best[0].cost()) {
+                best[0] = new TSPSolution(cost + graph[current][0], path.clone());
+            }
+            return;
+        }
+        for (int i = 0; i < n; i++) {
+            if (!visited[i] && graph[current][i] > 0) {
+                visited[i] = true;
+                path[count] = i;
+                TSPRecursive(graph, visited, path, count + 1, cost + graph[current][i], monitor, best);
+                visited[i] = false;
+            }
+        }
+    }
+
 
 }
@@ -1,5 +1,14 @@
 package org.notations.factorial;
 
+import org.notations.execution.CancellationToken;
+import org.notations.execution.CheckpointStore;
+import org.notations.execution.InputFingerprint;
+import org.notations.execution.PartialResult;
+import org.notations.execution.ProgressListener;
+import org.notations.execution.SearchCheckpoint;
+import org.notations.execution.SearchMonitor;
+
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,6 +19,11 @@ import java.util.List;
  */
 public class FactorialTime {
 
+    // The checkpoint interval is checked every 2^12 tours.
+    private static final long CHECKPOINT_CHECK_MASK = (1L << 12) - 1;
+
+    private final PermutationIndex index = new PermutationIndex();
+
     /**
      * <h2> Generating All Permutations </h2>
      * <p> generates all possible permutations of an input array using a recursive approach.
@@ -39,6 +53,45 @@ public class FactorialTime {
         }
     }
 
+    /**
+     * <h2> Generating All Permutations - Cancellable </h2>
+     * <p> The same recursion as generatePermutations, but every recursive call counts as a step of a
+     * {@link SearchMonitor}: every few thousand steps the token is checked and progress is reported.
+     * Once the token is cancelled the recursion unwinds, and the permutations generated so far are returned.</p>
+     * @param nums integers array
+     * @param token cancels the search
+     * @param listener receives progress reports, the total is not known in advance (-1)
+     * @return all possible permutations, or the permutations generated before the cancellation
+     */
+    public PartialResult<List<List<Integer>>> generatePermutations(int[] nums, CancellationToken token,
+                                                                   ProgressListener listener) {
+        SearchMonitor monitor = new SearchMonitor(token, listener, -1);
+        List<List<Integer>> permutations = new ArrayList<>();
+        generatePermutationsRecursive(nums, new ArrayList<>(), permutations, monitor);
+        return monitor.finish(permutations);
+    }
+
+    private void generatePermutationsRecursive(int[] nums, List<Integer> current, List<List<Integer>> permutations,
+                                               SearchMonitor monitor) {
+        if (!monitor.step()) {
+            return;
+        }
+        if (current.size() == nums.length) {
+            permutations.add(new ArrayList<>(current));
+            return;
+        }
+        for (int num : nums) {
+            if (monitor.isStopped()) {
+                return;
+            }
+            if (!current.contains(num)) {
+                current.add(num);
+                generatePermutationsRecursive(nums, current, permutations, monitor);
+                current.remove(current.size() - 1);
+            }
+        }
+    }
+
 
     /**
      * <h2> Solving the Traveling Salesman Problem (TSP) using Brute Force </h2>
@@ -82,7 +135,7 @@ public class FactorialTime {
                 //The nextPermutation method is used to generate the next permutation of the path array.
                 // This method efficiently generates permutations in lexicographic order.
                 // If there are no more permutations to generate, the loop exits.
-            } while (nextPermutation(path));
+            } while (index.nextPermutation(path, 0));
 
             // After exploring all possible permutations and finding the minimum cost,
             // the minCost value is returned as the solution to the TSP.
@@ -98,32 +151,117 @@ public class FactorialTime {
             return cost;
         }
 
-        private boolean nextPermutation(int[] array) {
-            int i = array.length - 2;
-            while (i >= 0 && array[i] >= array[i + 1]) {
-                i--;
+    /**
+     * <h2> Solving the Traveling Salesman Problem (TSP) on All Cores </h2>
+     * <p> The same exhaustive search as solveTSP, but city 0 is kept fixed as the start
+     * (every rotation of a tour has the same cost), so only (n-1)! tours are explored instead of n!.
+     * The permutations are split into ranges that are searched in parallel,
+     * and tours that are already more expensive than the best one found are skipped.
+     * See {@link ParallelTSPSolver}.</p>
+     * @param graph 2D array representing the weighted graph of cities.
+     *              graph[i][j] contains the distance (or cost) from city i to city j.
+     * @return cheapest tour and its cost
+     */
+    public TSPSolution solveTSPParallel(int[][] graph) {
+        return new ParallelTSPSolver().solve(graph);
+    }
+
+    /**
+     * <h2> Solving the Traveling Salesman Problem (TSP) - Cancellable </h2>
+     * <p> The same brute force as solveTSP with city 0 fixed as the start, so the (n-1)! orders of
+     * the other cities are walked with nextPermutation. Every tour counts as a step of a
+     * {@link SearchMonitor}: every few thousand tours the token is checked and progress is reported.</p>
+     * <p> Once the token is cancelled the search stops and returns the best tour found so far.
+     * The explored count of the result is the number of tours costed, which is also the lexicographic
+     * index of the next tour, so a later search can continue from there.</p>
+     * @param graph 2D array representing the weighted graph of cities.
+     *              graph[i][j] contains the distance (or cost) from city i to city j.
+     * @param token cancels the search
+     * @param listener receives progress reports, the total is (n-1)!
+     * @return cheapest tour, or the cheapest found before the cancellation
+     */
+    public PartialResult<TSPSolution> solveTSP(int[][] graph, CancellationToken token, ProgressListener listener) {
+        int n = graph.length;
+        SearchMonitor monitor = new SearchMonitor(token, listener, n == 0 ? 1 : index.factorial(n - 1));
+        if (n == 0) {
+            return monitor.finish(new TSPSolution(0, new int[0]));
+        }
+        // path[0] stays city 0, only the other cities are permuted.
+        int[] path = new int[n];
+        for (int i = 0; i < n; i++) {
+            path[i] = i;
+        }
+        TSPSolution best = new TSPSolution(Long.MAX_VALUE, new int[0]);
+        do {
+            long cost = calculateTourCost(graph, path);
+            if (cost < best.cost()) {
+                best = new TSPSolution(cost, path.clone());
             }
-            if (i < 0) {
-                return false;
+        } while (monitor.step() && index.nextPermutation(path, 1));
+        return monitor.finish(best);
+    }
+
+    /**
+     * <h2> Solving the Traveling Salesman Problem (TSP) - Resumable </h2>
+     * <p> The same search as the cancellable solveTSP, which also saves its state to a
+     * {@link CheckpointStore}: the lexicographic index of the next tour, the best cost and the best tour.
+     * The state is saved every checkpointInterval, when the search is cancelled, and when it finishes.</p>
+     * <p> If the store already holds a checkpoint for the same graph, the search continues from it
+     * instead of starting over: the next tour is rebuilt from its index (unranking),
+     * so a restart loses at most one checkpoint interval of work.
+     * Delete the checkpoint to start over.</p>
+     * @param graph 2D array representing the weighted graph of cities.
+     *              graph[i][j] contains the distance (or cost) from city i to city j.
+     * @param store where the checkpoint is kept
+     * @param checkpointInterval time between two checkpoints
+     * @param token cancels the search
+     * @param listener receives progress reports for this run
+     * @return cheapest tour, or the cheapest found so far; explored is the index of the next tour,
+     * counted across all runs
+     * @throws IllegalStateException if the store holds a checkpoint of another graph, or a corrupt one
+     */
+    public PartialResult<TSPSolution> solveTSP(int[][] graph, CheckpointStore store, Duration checkpointInterval,
+                                               CancellationToken token, ProgressListener listener) {
+        int n = graph.length;
+        if (n == 0) {
+            return new PartialResult<>(new TSPSolution(0, new int[0]), true, 0);
+        }
+        long total = index.factorial(n - 1);
+        byte[] fingerprint = InputFingerprint.of("solveTSP", graph);
+        SearchCheckpoint checkpoint = store.resume(fingerprint, total)
+                .orElse(new SearchCheckpoint(fingerprint, 0, Long.MAX_VALUE, new int[0]));
+
+        TSPSolution best = new TSPSolution(checkpoint.bestCost(), checkpoint.best());
+        long position = checkpoint.position();
+        // Rebuild the next tour from its index: city 0 first, then the (position)-th order of the others.
+        int[] path = new int[n];
+        int[] others = new int[n - 1];
+        index.unrank(Math.min(position, total - 1), others);
+        for (int i = 0; i < n - 1; i++) {
+            path[i + 1] = others[i] + 1;
+        }
+
+        SearchMonitor monitor = new SearchMonitor(token, listener, total - position);
+        long intervalNanos = checkpointInterval.toNanos();
+        long lastSave = System.nanoTime();
+        while (position < total) {
+            long cost = calculateTourCost(graph, path);
+            if (cost < best.cost()) {
+                best = new TSPSolution(cost, path.clone());
             }
-            int j = array.length - 1;
-            while (array[j] <= array[i]) {
-                j--;
+            position++;
+            if ((position & CHECKPOINT_CHECK_MASK) == 0 && System.nanoTime() - lastSave >= intervalNanos) {
+                store.save(new SearchCheckpoint(fingerprint, position, best.cost(), best.tour()));
+                lastSave = System.nanoTime();
             }
-            int temp = array[i];
-            array[i] = array[j];
-            array[j] = temp;
-            int left = i + 1;
-            int right = array.length - 1;
-            while (left < right) {
-                temp = array[left];
-                array[left] = array[right];
-                array[right] = temp;
-                left++;
-                right--;
+            if (!monitor.step() || !index.nextPermutation(path, 1)) {
+                break;
             }
-            return true;
         }
+        store.save(new SearchCheckpoint(fingerprint, position, best.cost(), best.tour()));
+        monitor.finish(best);
+        return new PartialResult<>(best, position == total, position);
+    }
 
 
 }
@@ -0,0 +1,198 @@
+package org.notations.factorial;
+
+import org.notations.execution.CancellationToken;
+import org.notations.execution.PartialResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <h1> Parallel Exhaustive TSP Solver: O(n!) work split over all cores </h1>
+ * <p> Same brute-force search as {@link FactorialTime#solveTSP(int[][])}, with two changes.</p>
+ * <p> <h3> 1) Fixing the start city </h3>
+ * A tour is a cycle, so every rotation of it has the same cost.
+ * The search fixes city 0 as the first city and only permutes the other n-1 cities,
+ * which is (n-1)! tours instead of n!.</p>
+ * <p> <h3> 2) Splitting the permutation space </h3>
+ * The (n-1)! permutations are numbered in lexicographic order, and the numbers are split into ranges.
+ * Every range is handed to a fork-join worker, which jumps straight to the first permutation of
+ * its range (unranking) and walks the range with nextPermutation.
+ * Every worker keeps its own minimum and only touches the shared best tour when it improves it.</p>
+ * <p> <h3> Pruning </h3>
+ * While a tour is costed edge by edge, the partial cost is compared with the best complete tour
+ * found by any worker so far. Once it reaches that bound, every tour starting with the same
+ * cities is at least as expensive, and all of them are one contiguous block of ranks,
+ * so the worker skips the whole block at once.
+ * Pruning assumes no negative distances and is turned off when the graph has one.</p>
+ */
+public class ParallelTSPSolver {
+
+    // Number of ranges per worker thread, more ranges balance the load better.
+    private static final int RANGES_PER_THREAD = 16;
+    // Workers check the cancellation token every 2^12 tours.
+    private static final long CHECK_MASK = (1L << 12) - 1;
+
+    private final ForkJoinPool pool;
+    private final PermutationIndex index = new PermutationIndex();
+
+    public ParallelTSPSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool fork-join pool that runs the ranges
+     */
+    public ParallelTSPSolver(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * <h2> solve </h2>
+     * @param graph 2D array representing the weighted graph of cities.
+     *              graph[i][j] contains the distance (or cost) from city i to city j.
+     * @return cheapest tour starting and ending at city 0
+     * @throws ArithmeticException if the graph has more than 21 cities, (n-1)! would not fit in a long
+     */
+    public TSPSolution solve(int[][] graph) {
+        return solve(graph, new CancellationToken()).value();
+    }
+
+    /**
+     * <h2> solve - Cancellable </h2>
+     * <p> Every worker checks the token every few thousand tours and stops its range once it is cancelled.</p>
+     * @param graph 2D array representing the weighted graph of cities.
+     * @param token cancels the search
+     * @return cheapest tour, or the cheapest found before the cancellation;
+     * explored counts the tours costed or skipped by pruning
+     */
+    public PartialResult<TSPSolution> solve(int[][] graph, CancellationToken token) {
+        int n = graph.length;
+        if (n <= 1) {
+            return new PartialResult<>(new TSPSolution(n == 0 ? 0 : graph[0][0], new int[n]), true, 1);
+        }
+        int m = n - 1;
+        long total = index.factorial(m);
+        boolean prune = hasNoNegativeDistances(graph);
+
+        AtomicReference<TSPSolution> best = new AtomicReference<>(new TSPSolution(Long.MAX_VALUE, new int[0]));
+        AtomicLong explored = new AtomicLong();
+        long ranges = Math.min(total, (long) pool.getParallelism() * RANGES_PER_THREAD);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (long r = 0; r < ranges; r++) {
+            tasks.add(new RangeTask(graph, rangeStart(total, ranges, r), rangeStart(total, ranges, r + 1),
+                    prune, best, token, explored));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return new PartialResult<>(best.get(), explored.get() == total, explored.get());
+    }
+
+    // First rank of range r out of ranges, the first (total % ranges) ranges are one rank longer.
+    // total * r / ranges would overflow a long from 20 cities on, (n-1)! is already close to Long.MAX_VALUE.
+    static long rangeStart(long total, long ranges, long r) {
+        return r * (total / ranges) + Math.min(r, total % ranges);
+    }
+
+    private boolean hasNoNegativeDistances(int[][] graph) {
+        for (int[] row : graph) {
+            for (int distance : row) {
+                if (distance < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("serial")
+    private final class RangeTask extends RecursiveAction {
+        private final int[][] graph;
+        private final long from;
+        private final long to;
+        private final boolean prune;
+        private final AtomicReference<TSPSolution> best;
+        private final CancellationToken token;
+        private final AtomicLong explored;
+
+        RangeTask(int[][] graph, long from, long to, boolean prune, AtomicReference<TSPSolution> best,
+                  CancellationToken token, AtomicLong explored) {
+            this.graph = graph;
+            this.from = from;
+            this.to = to;
+            this.prune = prune;
+            this.best = best;
+            this.token = token;
+            this.explored = explored;
+        }
+
+        @Override
+        protected void compute() {
+            int m = graph.length - 1;
+            // permutation holds 0..m-1, city = permutation[i] + 1, city 0 is fixed as the start.
+            int[] permutation = new int[m];
+            long rank = from;
+            index.unrank(rank, permutation);
+            long localBest = best.get().cost();
+            long steps = 0;
+
+            while (rank < to) {
+                if ((++steps & CHECK_MASK) == 0 && token.isCancelled()) {
+                    break;
+                }
+                long bound = prune ? Math.min(localBest, best.get().cost()) : Long.MAX_VALUE;
+                long cost = 0;
+                int previous = 0;
+                int prunedAt = -1;
+                for (int i = 0; i < m; i++) {
+                    int city = permutation[i] + 1;
+                    cost += graph[previous][city];
+                    previous = city;
+                    if (cost >= bound) {
+                        prunedAt = i;
+                        break;
+                    }
+                }
+
+                if (prunedAt < 0) {
+                    cost += graph[previous][0];
+                    if (cost < localBest) {
+                        localBest = cost;
+                        publish(cost, permutation);
+                    }
+                    rank++;
+                    if (rank < to) {
+                        index.nextPermutation(permutation, 0);
+                    }
+                } else {
+                    // Every permutation with the same first prunedAt + 1 cities is no better:
+                    // skip to the first rank after their block.
+                    long blockSize = index.factorial(m - prunedAt - 1);
+                    long offsetInBlock = index.rank(permutation, prunedAt + 1);
+                    rank = rank - offsetInBlock + blockSize;
+                    if (rank < to) {
+                        index.unrank(rank, permutation);
+                    }
+                }
+            }
+            explored.addAndGet(Math.min(rank, to) - from);
+        }
+
+        private void publish(long cost, int[] permutation) {
+            int[] tour = new int[permutation.length + 1];
+            for (int i = 0; i < permutation.length; i++) {
+                tour[i + 1] = permutation[i] + 1;
+            }
+            TSPSolution candidate = new TSPSolution(cost, tour);
+            best.accumulateAndGet(candidate, (current, next) -> next.cost() < current.cost() ? next : current);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.notations.factorial;
+
+/**
+ * <h1> Permutation Index </h1>
+ * <p> Maps between a permutation of 0..m-1 and its index (rank) in lexicographic order,
+ * using the factorial number system: the first element contributes (its position among the
+ * remaining elements) * (m-1)!, the second one * (m-2)!, and so on.
+ * Ranking and unranking cost O(m^2), which is negligible next to the m! permutations
+ * they let us split into independent ranges.</p>
+ */
+class PermutationIndex {
+
+    // 20! is the largest factorial that fits in a long.
+    static final int MAX_LENGTH = 20;
+
+    private final long[] factorials = new long[MAX_LENGTH + 1];
+
+    PermutationIndex() {
+        factorials[0] = 1;
+        for (int i = 1; i <= MAX_LENGTH; i++) {
+            factorials[i] = factorials[i - 1] * i;
+        }
+    }
+
+    long factorial(int m) {
+        if (m < 0 || m > MAX_LENGTH) {
+            throw new ArithmeticException(m + "! does not fit in a long");
+        }
+        return factorials[m];
+    }
+
+    /**
+     * Writes the permutation of 0..permutation.length-1 with the given lexicographic rank.
+     */
+    void unrank(long rank, int[] permutation) {
+        int m = permutation.length;
+        boolean[] used = new boolean[m];
+        for (int i = 0; i < m; i++) {
+            long block = factorial(m - 1 - i);
+            int skip = (int) (rank / block);
+            rank %= block;
+            // Pick the (skip)-th unused element.
+            for (int value = 0; value < m; value++) {
+                if (!used[value] && skip-- == 0) {
+                    used[value] = true;
+                    permutation[i] = value;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lexicographic rank of permutation[from..] among the permutations of its own elements.
+     */
+    long rank(int[] permutation, int from) {
+        int m = permutation.length;
+        long rank = 0;
+        for (int i = from; i < m; i++) {
+            int smaller = 0;
+            for (int j = i + 1; j < m; j++) {
+                if (permutation[j] < permutation[i]) {
+                    smaller++;
+                }
+            }
+            rank += smaller * factorial(m - 1 - i);
+        }
+        return rank;
+    }
+
+    /**
+     * Advances array[from..] to its next permutation in lexicographic order, leaving array[0..from-1] in place.
+     * @param from first index to permute, 0 for the whole array
+     * @return false if array[from..] was the last permutation
+     */
+    boolean nextPermutation(int[] array, int from) {
+        int i = array.length - 2;
+        while (i >= from && array[i] >= array[i + 1]) {
+            i--;
+        }
+        if (i < from) {
+            return false;
+        }
+        int j = array.length - 1;
+        while (array[j] <= array[i]) {
+            j--;
+        }
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        for (int left = i + 1, right = array.length - 1; left < right; left++, right--) {
+            temp = array[left];
+            array[left] = array[right];
+            array[right] = temp;
+        }
+        return true;
+    }
+}
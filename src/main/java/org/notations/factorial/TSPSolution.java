@@ -0,0 +1,29 @@
+package org.notations.factorial;
+
+import java.util.Arrays;
+
+/**
+ * <h1> TSP Solution </h1>
+ * <p> A tour and its total cost. The tour lists every city once, starting at city 0;
+ * the cost includes the edge from the last city back to city 0.</p>
+ * <p> Two solutions are equal when they have the same cost and visit the cities in the same order.</p>
+ * @param cost total cost of the tour, Long.MAX_VALUE if no tour was found
+ * @param tour order in which the cities are visited
+ */
+public record TSPSolution(long cost, int[] tour) {
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TSPSolution solution && cost == solution.cost && Arrays.equals(tour, solution.tour);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(cost) + Arrays.hashCode(tour);
+    }
+
+    @Override
+    public String toString() {
+        return "TSPSolution[cost=" + cost + ", tour=" + Arrays.toString(tour) + "]";
+    }
+}
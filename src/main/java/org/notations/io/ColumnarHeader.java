@@ -0,0 +1,103 @@
+package org.notations.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32C;
+
+/**
+ * <h1> Columnar File Header </h1>
+ * <p> The fixed 32-byte header at the start of every columnar file, little-endian:</p>
+ * <div> magic (4 bytes, "COLN") | version (2) | kind (1) | encoding (1) | rows (4) | columns (4) |
+ * payload length in bytes (8) | CRC32C of the payload (4) | CRC32C of the previous 28 header bytes (4) </div>
+ * <p> The payload starts right after the header, at a 4-byte aligned offset,
+ * so a raw payload can be mapped as an IntBuffer directly.</p>
+ * <p> The header has its own checksum, because the payload checksum does not cover the shape:
+ * a corrupted row count would otherwise read the right bytes as the wrong shape.
+ * The shape must also agree with the payload length (exactly 4 bytes per int for RAW,
+ * 1 to 5 bytes per int for DELTA_VARINT), so nothing is allocated or mapped from a header
+ * that promises more data than the file holds.</p>
+ */
+record ColumnarHeader(Kind kind, Encoding encoding, int rows, int columns, long payloadLength, int checksum) {
+
+    static final int SIZE = 32;
+    private static final int MAGIC = 0x4E4C4F43; // "COLN" read as a little-endian int
+    private static final short VERSION = 2;
+    private static final int CHECKED_SIZE = SIZE - Integer.BYTES;
+    // A zigzag varint of the difference of two ints has at most 33 bits, 5 bytes of 7 bits.
+    private static final int MAX_VARINT_BYTES = 5;
+
+    /**
+     * What the file holds.
+     */
+    enum Kind {
+        INT_ARRAY,
+        INT_MATRIX
+    }
+
+    ByteBuffer encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .put((byte) kind.ordinal())
+                .put((byte) encoding.ordinal())
+                .putInt(rows)
+                .putInt(columns)
+                .putLong(payloadLength)
+                .putInt(checksum);
+        buffer.putInt(headerChecksum(buffer, 0));
+        return buffer.flip();
+    }
+
+    static ColumnarHeader decode(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < SIZE || buffer.getInt(buffer.position()) != MAGIC) {
+            throw new IOException("Not a columnar file");
+        }
+        int start = buffer.position();
+        if (headerChecksum(buffer, start) != buffer.getInt(start + CHECKED_SIZE)) {
+            throw new IOException("Columnar file header checksum mismatch");
+        }
+        buffer.getInt();
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported columnar file version " + version);
+        }
+        int kind = buffer.get();
+        int encoding = buffer.get();
+        if (kind < 0 || kind >= Kind.values().length || encoding < 0 || encoding >= Encoding.values().length) {
+            throw new IOException("Corrupt columnar file header");
+        }
+        ColumnarHeader header = new ColumnarHeader(Kind.values()[kind], Encoding.values()[encoding],
+                buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getInt());
+        buffer.getInt();
+        header.validateShape();
+        return header;
+    }
+
+    private void validateShape() throws IOException {
+        if (rows < 0 || columns < 0 || payloadLength < 0) {
+            throw new IOException("Corrupt columnar file header");
+        }
+        if (kind == Kind.INT_ARRAY && columns != 1) {
+            throw new IOException("Int array header with " + columns + " columns");
+        }
+        long values = (long) rows * columns;
+        if (encoding == Encoding.RAW) {
+            if (payloadLength != values * Integer.BYTES) {
+                throw new IOException("Shape " + rows + " x " + columns + " does not match RAW payload of "
+                        + payloadLength + " bytes");
+            }
+        } else if (kind != Kind.INT_ARRAY || payloadLength < values || payloadLength > values * MAX_VARINT_BYTES) {
+            throw new IOException("Shape " + rows + " x " + columns + " does not match DELTA_VARINT payload of "
+                    + payloadLength + " bytes");
+        }
+    }
+
+    // CRC32C of the header bytes before the header checksum.
+    private static int headerChecksum(ByteBuffer buffer, int start) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start, CHECKED_SIZE));
+        return (int) crc.getValue();
+    }
+}
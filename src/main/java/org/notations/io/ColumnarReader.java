@@ -0,0 +1,269 @@
+package org.notations.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * <h1> Columnar Reader </h1>
+ * <p> Reads files written by {@link ColumnarWriter}.</p>
+ * <p> There are two ways to get the data:</p>
+ * <div> - read: decodes the payload into a new int[] or int[][] through a direct buffer,
+ * checking the checksum on the way.</div>
+ * <div> - map: maps a RAW int array straight from the file into memory and returns it as an
+ * {@link IntBuffer}, without reading or copying anything up front. The operating system loads pages
+ * as they are touched. The buffer can be handed to the IntBuffer overloads of
+ * LinearTime, LogarithmicTime.binarySearch and LinearithmicTime.quickSort.</div>
+ */
+public class ColumnarReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ColumnarHeader header;
+
+    /**
+     * <h2> Open </h2>
+     * <p> Reads and validates the header.</p>
+     * @param file columnar file
+     * @throws IOException if the file cannot be read or is not a columnar file
+     */
+    public ColumnarReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(ColumnarHeader.SIZE);
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // Read until the header is complete or the file ends.
+            }
+            this.header = ColumnarHeader.decode(buffer.flip());
+            if (channel.size() < ColumnarHeader.SIZE + header.payloadLength()) {
+                throw new IOException("Truncated columnar file: " + file);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return true if the file holds an int array, false for a matrix
+     */
+    public boolean isIntArray() {
+        return header.kind() == ColumnarHeader.Kind.INT_ARRAY;
+    }
+
+    /**
+     * @return payload encoding
+     */
+    public Encoding encoding() {
+        return header.encoding();
+    }
+
+    /**
+     * @return array length, or number of matrix rows
+     */
+    public int rows() {
+        return header.rows();
+    }
+
+    /**
+     * @return 1 for an array, or number of matrix columns
+     */
+    public int columns() {
+        return header.columns();
+    }
+
+    /**
+     * <h2> readIntArray </h2>
+     * @return the int array of the file
+     * @throws IOException if the file holds a matrix, cannot be read, or fails the checksum
+     */
+    public int[] readIntArray() throws IOException {
+        requireKind(ColumnarHeader.Kind.INT_ARRAY);
+        int[] result = new int[header.rows()];
+        PayloadReader payload = new PayloadReader();
+        if (header.encoding() == Encoding.RAW) {
+            payload.getInts(result);
+        } else {
+            payload.getDeltaVarints(result);
+        }
+        payload.finish();
+        return result;
+    }
+
+    /**
+     * <h2> readMatrix </h2>
+     * @return the dense matrix of the file
+     * @throws IOException if the file holds an array, cannot be read, or fails the checksum
+     */
+    public int[][] readMatrix() throws IOException {
+        requireKind(ColumnarHeader.Kind.INT_MATRIX);
+        int[][] result = new int[header.rows()][header.columns()];
+        PayloadReader payload = new PayloadReader();
+        for (int[] row : result) {
+            payload.getInts(row);
+        }
+        payload.finish();
+        return result;
+    }
+
+    /**
+     * <h2> mapIntArray - Zero-Copy, Read-Only </h2>
+     * <p> Maps the payload of a RAW int array. Nothing is read until the buffer is used,
+     * and the checksum is not verified (call {@link #verifyChecksum()} for that).</p>
+     * @return read-only buffer over the ints of the file
+     * @throws IOException if the file holds a matrix or a DELTA_VARINT array
+     */
+    public IntBuffer mapIntArray() throws IOException {
+        return map(FileChannel.MapMode.READ_ONLY);
+    }
+
+    /**
+     * <h2> mapIntArrayForUpdate - Zero-Copy, Copy-on-Write </h2>
+     * <p> Maps the payload privately: pages are shared with the file until written,
+     * and writes (for example an in-place sort) only change this process's copy, never the file.</p>
+     * @return writable buffer over the ints of the file
+     * @throws IOException if the file holds a matrix or a DELTA_VARINT array
+     */
+    public IntBuffer mapIntArrayForUpdate() throws IOException {
+        return map(FileChannel.MapMode.PRIVATE);
+    }
+
+    /**
+     * <h2> verifyChecksum </h2>
+     * @throws IOException if the payload does not match the checksum in the header
+     */
+    public void verifyChecksum() throws IOException {
+        PayloadReader payload = new PayloadReader();
+        payload.skipAll();
+        payload.finish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private IntBuffer map(FileChannel.MapMode mode) throws IOException {
+        requireKind(ColumnarHeader.Kind.INT_ARRAY);
+        if (header.encoding() != Encoding.RAW) {
+            throw new IOException("Only RAW arrays can be mapped, this one is " + header.encoding());
+        }
+        long size = (long) header.rows() * Integer.BYTES;
+        MappedByteBuffer mapped;
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            mapped = channel.map(mode, ColumnarHeader.SIZE, size);
+        } else {
+            // A private mapping needs a channel opened for writing, even though the file is never written.
+            // The mapping stays valid after the channel is closed.
+            try (FileChannel writable = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                mapped = writable.map(mode, ColumnarHeader.SIZE, size);
+            }
+        }
+        return mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private void requireKind(ColumnarHeader.Kind kind) throws IOException {
+        if (header.kind() != kind) {
+            throw new IOException("File holds an " + header.kind() + ", not an " + kind);
+        }
+    }
+
+    // Reads the payload through a reusable direct buffer, updating the checksum as it goes.
+    private final class PayloadReader {
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long position = ColumnarHeader.SIZE;
+        private long remaining = header.payloadLength();
+
+        PayloadReader() {
+            buffer.flip(); // Start empty.
+        }
+
+        void getInts(int[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    fill();
+                }
+                int count = Math.min(values.length - offset, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().get(values, offset, count);
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                offset += count;
+            }
+        }
+
+        void getDeltaVarints(int[] values) throws IOException {
+            long previous = 0;
+            for (int i = 0; i < values.length; i++) {
+                long zigzag = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    if (!buffer.hasRemaining()) {
+                        fill();
+                    }
+                    b = buffer.get();
+                    zigzag |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                    if (shift > 70) {
+                        throw new IOException("Corrupt varint in columnar file");
+                    }
+                } while ((b & 0x80) != 0);
+                long delta = (zigzag >>> 1) ^ -(zigzag & 1);
+                previous += delta;
+                values[i] = (int) previous;
+            }
+        }
+
+        void skipAll() throws IOException {
+            while (remaining > 0 || buffer.hasRemaining()) {
+                buffer.position(buffer.limit());
+                if (remaining > 0) {
+                    fill();
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (remaining != 0 || buffer.hasRemaining()) {
+                throw new IOException("Columnar payload length does not match its contents");
+            }
+            if ((int) crc.getValue() != header.checksum()) {
+                throw new IOException("Columnar file checksum mismatch");
+            }
+        }
+
+        // Moves unread bytes to the front and reads more of the payload behind them.
+        private void fill() throws IOException {
+            if (remaining == 0) {
+                throw new IOException("Unexpected end of columnar payload");
+            }
+            buffer.compact();
+            int start = buffer.position();
+            int limit = (int) Math.min(buffer.capacity(), start + remaining);
+            buffer.limit(limit);
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of columnar file");
+                }
+                position += read;
+            }
+            remaining -= limit - start;
+            buffer.flip();
+            // Checksum the newly read bytes only.
+            ByteBuffer fresh = buffer.duplicate();
+            fresh.position(start);
+            crc.update(fresh);
+        }
+    }
+}
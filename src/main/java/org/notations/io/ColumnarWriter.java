@@ -0,0 +1,144 @@
+package org.notations.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * <h1> Columnar Writer </h1>
+ * <p> Writes int arrays and dense int matrices in the columnar binary format
+ * (see {@link ColumnarReader} for reading them back).</p>
+ * <p> The payload goes through one reusable direct buffer into a {@link FileChannel}:
+ * the ints are written into the buffer in bulk, little-endian, and every full buffer is one write call.
+ * The CRC32C checksum is computed on the same buffer on the way out,
+ * and the header is written last, once the payload length and checksum are known.</p>
+ */
+public class ColumnarWriter {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * <h2> write - Int Array </h2>
+     * @param file destination, replaced if it exists
+     * @param array integers array
+     * @param encoding RAW, or DELTA_VARINT for sorted or nearly sorted data
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file, int[] array, Encoding encoding) throws IOException {
+        try (FileChannel channel = open(file)) {
+            Payload payload = new Payload(channel);
+            if (encoding == Encoding.RAW) {
+                payload.putInts(array);
+            } else {
+                payload.putDeltaVarints(array);
+            }
+            payload.finish();
+            writeHeader(channel, new ColumnarHeader(ColumnarHeader.Kind.INT_ARRAY, encoding,
+                    array.length, 1, payload.length, payload.checksum()));
+        }
+    }
+
+    /**
+     * <h2> write - Dense Matrix </h2>
+     * <p> The matrix is stored row by row, every row as one contiguous RAW block.</p>
+     * @param file destination, replaced if it exists
+     * @param matrix dense matrix, all rows of the same length
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file, int[][] matrix) throws IOException {
+        int columns = matrix.length == 0 ? 0 : matrix[0].length;
+        try (FileChannel channel = open(file)) {
+            Payload payload = new Payload(channel);
+            for (int[] row : matrix) {
+                if (row.length != columns) {
+                    throw new IllegalArgumentException("All rows must have " + columns + " columns");
+                }
+                payload.putInts(row);
+            }
+            payload.finish();
+            writeHeader(channel, new ColumnarHeader(ColumnarHeader.Kind.INT_MATRIX, Encoding.RAW,
+                    matrix.length, columns, payload.length, payload.checksum()));
+        }
+    }
+
+    private FileChannel open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(ColumnarHeader.SIZE);
+        return channel;
+    }
+
+    private void writeHeader(FileChannel channel, ColumnarHeader header) throws IOException {
+        ByteBuffer buffer = header.encode();
+        long position = 0;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    // Buffers the payload in a direct buffer, flushing it to the channel and the checksum when full.
+    private static final class Payload {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long length;
+
+        Payload(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInts(int[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush();
+                }
+                int count = Math.min(values.length - offset, buffer.remaining() / Integer.BYTES);
+                IntBuffer ints = buffer.asIntBuffer();
+                ints.put(values, offset, count);
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                offset += count;
+            }
+        }
+
+        void putDeltaVarints(int[] values) throws IOException {
+            long previous = 0;
+            for (int value : values) {
+                if (buffer.remaining() < 10) {
+                    flush();
+                }
+                long delta = value - previous;
+                previous = value;
+                long zigzag = (delta << 1) ^ (delta >> 63);
+                while ((zigzag & ~0x7FL) != 0) {
+                    buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+                    zigzag >>>= 7;
+                }
+                buffer.put((byte) zigzag);
+            }
+        }
+
+        void finish() throws IOException {
+            flush();
+        }
+
+        int checksum() {
+            return (int) crc.getValue();
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            length += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.notations.io;
+
+/**
+ * <h1> Payload Encoding </h1>
+ * <p> How the ints of a columnar file are stored.</p>
+ */
+public enum Encoding {
+
+    /**
+     * Every int as 4 little-endian bytes. The payload can be memory-mapped and used without decoding.
+     */
+    RAW,
+
+    /**
+     * Every int as the difference from the previous one, zigzag-encoded and written as a varint
+     * (7 bits per byte, high bit set on all bytes but the last).
+     * Sorted data has small differences, which take 1 or 2 bytes instead of 4.
+     * Only for int arrays, and the payload has to be decoded before use.
+     */
+    DELTA_VARINT
+}
@@ -0,0 +1,241 @@
+package org.notations.linear;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * <h1> Array Operations: O(n) </h1>
+ * <p> Bulk copy, slice, fill, concat and reverse for int arrays, shared by the sorts and scans.
+ * Copy and slice also have long and double versions for the 64-bit sorts.</p>
+ * <p> Copying is still O(n), but {@link System#arraycopy} is an intrinsic: the JIT replaces it
+ * with a vectorized memory copy and removes the per-element bounds checks,
+ * so it is several times faster than copying element by element in a loop.
+ * Very large arrays are split into chunks that are copied in parallel.</p>
+ * <p> Off-heap data (direct buffers, memory-mapped files) is read and written
+ * through {@link IntBuffer} bulk operations, which also copy whole blocks at once.</p>
+ */
+public class ArrayOps {
+
+    // Arrays at least this long are copied and filled in parallel chunks.
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+    private static final int CHUNK_SIZE = 1 << 18;
+
+    /**
+     * <h2> copy - Copying an Array </h2>
+     * @param original integers array
+     * @return copy of the original array
+     */
+    public int[] copy(int[] original) {
+        return slice(original, 0, original.length);
+    }
+
+    /**
+     * <h2> slice - Copying Part of an Array </h2>
+     * @param array integers array
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @return new array with the elements in [from, to)
+     */
+    public int[] slice(int[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        int[] result = new int[to - from];
+        copy(array, from, result, 0, to - from);
+        return result;
+    }
+
+    /**
+     * <h2> copy - Copying a Range Between Arrays </h2>
+     * <p> Same contract as {@link System#arraycopy}, split into parallel chunks for very large ranges.</p>
+     * @param source source array
+     * @param sourceIndex first index to read
+     * @param destination destination array
+     * @param destinationIndex first index to write
+     * @param length number of elements
+     */
+    public void copy(int[] source, int sourceIndex, int[] destination, int destinationIndex, int length) {
+        copyChunks(source, source.length, sourceIndex, destination, destination.length, destinationIndex, length);
+    }
+
+    /**
+     * <h2> copy - Copying a long Array </h2>
+     * @param original longs array
+     * @return copy of the original array
+     */
+    public long[] copy(long[] original) {
+        return slice(original, 0, original.length);
+    }
+
+    /**
+     * <h2> slice - Copying Part of a long Array </h2>
+     * @param array longs array
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @return new array with the elements in [from, to)
+     */
+    public long[] slice(long[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        long[] result = new long[to - from];
+        copy(array, from, result, 0, to - from);
+        return result;
+    }
+
+    /**
+     * <h2> copy - Copying a Range Between long Arrays </h2>
+     * @param source source array
+     * @param sourceIndex first index to read
+     * @param destination destination array
+     * @param destinationIndex first index to write
+     * @param length number of elements
+     */
+    public void copy(long[] source, int sourceIndex, long[] destination, int destinationIndex, int length) {
+        copyChunks(source, source.length, sourceIndex, destination, destination.length, destinationIndex, length);
+    }
+
+    /**
+     * <h2> copy - Copying a double Array </h2>
+     * @param original doubles array
+     * @return copy of the original array
+     */
+    public double[] copy(double[] original) {
+        return slice(original, 0, original.length);
+    }
+
+    /**
+     * <h2> slice - Copying Part of a double Array </h2>
+     * @param array doubles array
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @return new array with the elements in [from, to)
+     */
+    public double[] slice(double[] array, int from, int to) {
+        checkRange(array.length, from, to);
+        double[] result = new double[to - from];
+        copy(array, from, result, 0, to - from);
+        return result;
+    }
+
+    /**
+     * <h2> copy - Copying a Range Between double Arrays </h2>
+     * @param source source array
+     * @param sourceIndex first index to read
+     * @param destination destination array
+     * @param destinationIndex first index to write
+     * @param length number of elements
+     */
+    public void copy(double[] source, int sourceIndex, double[] destination, int destinationIndex, int length) {
+        copyChunks(source, source.length, sourceIndex, destination, destination.length, destinationIndex, length);
+    }
+
+    // Shared by the int, long and double copies: arraycopy takes any primitive array as an Object.
+    private void copyChunks(Object source, int sourceLength, int sourceIndex,
+                            Object destination, int destinationLength, int destinationIndex, int length) {
+        if (length < PARALLEL_THRESHOLD || (source == destination && length > 0)) {
+            // Overlapping copies within one array are left to arraycopy, which handles them correctly.
+            System.arraycopy(source, sourceIndex, destination, destinationIndex, length);
+            return;
+        }
+        // Validate once up front, so a bad range fails before any chunk is written.
+        if (sourceIndex < 0 || destinationIndex < 0 || length < 0
+                || sourceIndex > sourceLength - length || destinationIndex > destinationLength - length) {
+            throw new IndexOutOfBoundsException("Copy of " + length + " elements out of bounds");
+        }
+        int chunks = (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int offset = chunk * CHUNK_SIZE;
+            int chunkLength = Math.min(CHUNK_SIZE, length - offset);
+            System.arraycopy(source, sourceIndex + offset, destination, destinationIndex + offset, chunkLength);
+        });
+    }
+
+    private void checkRange(int length, int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+    }
+
+    /**
+     * <h2> fill </h2>
+     * @param array integers array
+     * @param value value to write to every element
+     */
+    public void fill(int[] array, int value) {
+        if (array.length < PARALLEL_THRESHOLD) {
+            Arrays.fill(array, value);
+            return;
+        }
+        int chunks = (array.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK_SIZE;
+            Arrays.fill(array, from, Math.min(from + CHUNK_SIZE, array.length), value);
+        });
+    }
+
+    /**
+     * <h2> concat </h2>
+     * @param arrays integers arrays
+     * @return new array with the elements of all arrays, in order
+     */
+    public int[] concat(int[]... arrays) {
+        long total = 0;
+        for (int[] array : arrays) {
+            total += array.length;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Concatenated length " + total + " does not fit in an array");
+        }
+        int[] result = new int[(int) total];
+        int offset = 0;
+        for (int[] array : arrays) {
+            copy(array, 0, result, offset, array.length);
+            offset += array.length;
+        }
+        return result;
+    }
+
+    /**
+     * <h2> reverse - In Place </h2>
+     * @param array integers array
+     */
+    public void reverse(int[] array) {
+        reverse(array, 0, array.length);
+    }
+
+    /**
+     * <h2> reverse - Range In Place </h2>
+     * @param array integers array
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     */
+    public void reverse(int[] array, int from, int to) {
+        for (int left = from, right = to - 1; left < right; left++, right--) {
+            int temp = array[left];
+            array[left] = array[right];
+            array[right] = temp;
+        }
+    }
+
+    /**
+     * <h2> copy - From Off-Heap </h2>
+     * <p> Reads the remaining elements of the buffer with one bulk get.
+     * The buffer position is not changed.</p>
+     * @param source buffer, for example a view of a direct or memory-mapped byte buffer
+     * @return new array with the remaining elements of the buffer
+     */
+    public int[] copy(IntBuffer source) {
+        int[] result = new int[source.remaining()];
+        source.get(source.position(), result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * <h2> copy - To Off-Heap </h2>
+     * <p> Writes the array with one bulk put starting at the buffer position.
+     * The buffer position is not changed.</p>
+     * @param source integers array
+     * @param destination buffer with at least source.length remaining elements
+     */
+    public void copy(int[] source, IntBuffer destination) {
+        destination.put(destination.position(), source, 0, source.length);
+    }
+}
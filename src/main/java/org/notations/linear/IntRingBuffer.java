@@ -0,0 +1,113 @@
+package org.notations.linear;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * <h1> Lock-Free Ring Buffer of ints </h1>
+ * <p> A bounded queue that many producer threads can write to and one consumer thread reads from,
+ * without locks and without boxing the elements.</p>
+ * <p> Every slot has a sequence number. A producer claims a position with a compare-and-set on the tail,
+ * writes the value and then publishes it by advancing the slot sequence.
+ * The consumer only reads a slot after its sequence says it is published,
+ * and frees it by advancing the sequence one lap ahead.
+ * Offer and poll are O(1), and no objects are allocated after construction.</p>
+ */
+public class IntRingBuffer {
+
+    private final int[] values;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // Only the single consumer thread reads and writes the head.
+    private long head;
+
+    /**
+     * @param capacity number of slots, must be a power of two
+     */
+    public IntRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+        }
+        this.values = new int[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * <h2> offer </h2>
+     * <p> Safe to call from any number of producer threads.</p>
+     * @param value to add
+     * @return true if the value was added, false if the buffer is full
+     */
+    public boolean offer(int value) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                // The slot is free for this lap, try to claim it.
+                if (tail.compareAndSet(position, position + 1)) {
+                    values[index] = value;
+                    sequences.set(index, position + 1); // Publish the value to the consumer.
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false; // The consumer has not freed this slot yet, the buffer is full.
+            }
+            // Another producer claimed the slot first, retry with the new tail.
+        }
+    }
+
+    /**
+     * <h2> put </h2>
+     * <p> Spins until there is room for the value.</p>
+     * @param value to add
+     */
+    public void put(int value) {
+        while (!offer(value)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * <h2> drain </h2>
+     * <p> Must only be called from the single consumer thread.</p>
+     * @param consumer receives the values in the order they were published
+     * @param limit max number of values to drain
+     * @return number of values drained, 0 if the buffer was empty
+     */
+    public int drain(IntConsumer consumer, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break; // Next slot is not published yet.
+            }
+            int value = values[index];
+            sequences.set(index, head + values.length); // Free the slot for the next lap.
+            head++;
+            consumer.accept(value);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return true if no published value is waiting, only meaningful on the consumer thread
+     */
+    public boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * @return number of slots
+     */
+    public int capacity() {
+        return values.length;
+    }
+}
@@ -1,5 +1,6 @@
 package org.notations.linear;
 
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,6 +13,8 @@ import java.util.List;
  */
 public class LinearTime {
 
+    private final ArrayOps arrayOps = new ArrayOps();
+
     /**
      * <h2> iterateArray - Iterating Through an Array </h2>
      * <p> This algorithm iterates through an array of integers,
@@ -89,21 +92,162 @@ public class LinearTime {
         return count;
     }
 
+    /**
+     * <h2> findMax - long </h2>
+     * @param array longs array
+     * @return max long
+     */
+    public long findMax(long[] array) {
+        long max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] > max) {
+                max = array[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * <h2> findMax - double </h2>
+     * <p> Compares with {@link Double#compare}, the order used by the double sorts:
+     * 0.0 is greater than -0.0, and NaN is greater than every other value, so any NaN is the max.</p>
+     * @param array doubles array
+     * @return max double
+     */
+    public double findMax(double[] array) {
+        double max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (Double.compare(array[i], max) > 0) {
+                max = array[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * <h2> linearSearch - long </h2>
+     * @param array longs array
+     * @param target value to search
+     * @return index of the target if found, otherwise returns -1
+     */
+    public int linearSearch(long[] array, long target) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <h2> linearSearch - double </h2>
+     * <p> Matches with {@link Double#compare}: NaN finds NaN, and -0.0 and 0.0 do not match each other.</p>
+     * @param array doubles array
+     * @param target value to search
+     * @return index of the target if found, otherwise returns -1
+     */
+    public int linearSearch(double[] array, double target) {
+        for (int i = 0; i < array.length; i++) {
+            if (Double.compare(array[i], target) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <h2> countOccurrences - long </h2>
+     * @param array longs array
+     * @param value to count its occurrences
+     * @return occurrences of value
+     */
+    public int countOccurrences(long[] array, long value) {
+        int count = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * <h2> countOccurrences - double </h2>
+     * <p> Matches with {@link Double#compare}, see {@link #linearSearch(double[], double)}.</p>
+     * @param array doubles array
+     * @param value to count its occurrences
+     * @return occurrences of value
+     */
+    public int countOccurrences(double[] array, double value) {
+        int count = 0;
+        for (int i = 0; i < array.length; i++) {
+            if (Double.compare(array[i], value) == 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * <h2> findMax - IntBuffer </h2>
+     * <p> Same as {@link #findMax(int[])}, for ints outside the heap,
+     * such as a memory-mapped columnar file. Reads from index 0 to limit, ignoring the position.</p>
+     * @param buffer integers buffer
+     * @return max int
+     */
+    public int findMax(IntBuffer buffer) {
+        int max = buffer.get(0);
+        for (int i = 1; i < buffer.limit(); i++) {
+            if (buffer.get(i) > max) {
+                max = buffer.get(i);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * <h2> linearSearch - IntBuffer </h2>
+     * @param buffer integers buffer, searched from index 0 to limit
+     * @param target value to search
+     * @return index of the target if found, otherwise returns -1
+     */
+    public int linearSearch(IntBuffer buffer, int target) {
+        for (int i = 0; i < buffer.limit(); i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <h2> countOccurrences - IntBuffer </h2>
+     * @param buffer integers buffer, counted from index 0 to limit
+     * @param value to count its occurrences
+     * @return occurrences of value
+     */
+    public int countOccurrences(IntBuffer buffer, int value) {
+        int count = 0;
+        for (int i = 0; i < buffer.limit(); i++) {
+            if (buffer.get(i) == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * <h2> copyArray - Copying an Array </h2>
      * <p> This algorithm creates a copy of an array by
-     * iterating through the original array and copying its elements to a new array.
+     * copying the elements of the original array to a new array.
      * The time complexity is O(n) because it requires visiting and copying each element.</p>
+     * <p> The copy is done in bulk by {@link ArrayOps#copy(int[])},
+     * which is still O(n) but much faster than copying element by element.</p>
      * @param original original integers array
      * @return copy of original array
      */
     public int[] copyArray(int[] original) {
-        int[] copy = new int[original.length];
-        // Iterate through the original array and copy its elements.
-        for (int i = 0; i < original.length; i++) {
-            copy[i] = original[i];
-        }
-        return copy;
+        return arrayOps.copy(original);
     }
 
 
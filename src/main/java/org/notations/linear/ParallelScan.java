@@ -0,0 +1,409 @@
+package org.notations.linear;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * <h1> Parallel Reduction and Prefix Scan: O(n) work, O(n / p + p) time </h1>
+ * <p> Parallel versions of the single-pass scans in {@link LinearTime}.
+ * The array is split into blocks, each block is processed by a fork-join worker,
+ * and the per-block results are combined at the end. The total work is still O(n),
+ * but it is spread over p cores.</p>
+ * <p> Sums of int arrays are accumulated into long, so they never overflow.
+ * Sums of long arrays use exact arithmetic and throw ArithmeticException on overflow
+ * instead of silently wrapping around.</p>
+ * <p> Each separate scan has to read the whole array from memory again.
+ * Once the array does not fit in the cache, running findMax, countOccurrences and a sum
+ * as three scans costs three trips through memory.
+ * {@link #summarize(int[], int)} and {@link #mapReduce} compute all of them in one pass.</p>
+ */
+public class ParallelScan {
+
+    // Below this many elements a range is processed sequentially by one worker.
+    private static final int BLOCK_SIZE = 1 << 15;
+
+    private final ForkJoinPool pool;
+
+    public ParallelScan() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool fork-join pool that runs the blocks
+     */
+    public ParallelScan(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * <h2> Statistics </h2>
+     * <p> Result of the fused pass: everything {@link LinearTime} computes with separate scans.</p>
+     * @param count number of elements
+     * @param max max element, Integer.MIN_VALUE for an empty array
+     * @param min min element, Integer.MAX_VALUE for an empty array
+     * @param sum sum of the elements
+     * @param occurrences occurrences of the counted value
+     * @param firstIndex index of the first occurrence of the counted value, otherwise -1
+     */
+    public record Statistics(int count, int max, int min, long sum, int occurrences, int firstIndex) {
+    }
+
+    /**
+     * <h2> sum - Parallel Reduction </h2>
+     * @param array integers array
+     * @return sum of the elements, accumulated into a long
+     */
+    public long sum(int[] array) {
+        return pool.invoke(new IntSumTask(array, 0, array.length));
+    }
+
+    /**
+     * <h2> sum - Parallel Reduction </h2>
+     * @param array longs array
+     * @return sum of the elements
+     * @throws ArithmeticException if the sum overflows a long
+     */
+    public long sum(long[] array) {
+        return pool.invoke(new LongSumTask(array, 0, array.length));
+    }
+
+    /**
+     * <h2> summarize - Fused Single Pass </h2>
+     * <p> Computes findMax, a min, a sum, countOccurrences and linearSearch in one parallel pass
+     * over the array.</p>
+     * @param array integers array
+     * @param value value to count and search for
+     * @return statistics of the array
+     */
+    public Statistics summarize(int[] array, int value) {
+        return pool.invoke(new SummarizeTask(array, value, 0, array.length));
+    }
+
+    /**
+     * <h2> mapReduce - Fused Custom Pass </h2>
+     * <p> Every worker creates its own accumulator from identity and feeds it the elements of its range,
+     * then the accumulators are merged with combiner. Accumulators are mutable and never shared
+     * between threads, so they need no synchronization.</p>
+     * @param array integers array
+     * @param identity creates an empty accumulator
+     * @param accumulator adds one element to an accumulator
+     * @param combiner merges two accumulators, the left one covers the lower indexes
+     * @return merged accumulator for the whole array
+     */
+    public <A> A mapReduce(int[] array, Supplier<A> identity, ObjIntConsumer<A> accumulator, BinaryOperator<A> combiner) {
+        return pool.invoke(new MapReduceTask<>(array, identity, accumulator, combiner, 0, array.length));
+    }
+
+    /**
+     * <h2> inclusiveScan - Parallel Prefix Sum </h2>
+     * <p> result[i] = array[0] + ... + array[i].</p>
+     * <p> <h3> How the two-pass blocked scan works </h3>
+     * <div> 1) The array is split into blocks, and the sum of every block is computed in parallel.</div>
+     * <div> 2) The block sums are scanned sequentially, which gives the offset every block starts from.
+     * There are only n / BLOCK_SIZE of them, so this step is cheap.</div>
+     * <div> 3) Every block is scanned in parallel, starting from its offset.</div>
+     * </p>
+     * @param array integers array
+     * @return prefix sums, accumulated into longs
+     */
+    public long[] inclusiveScan(int[] array) {
+        long[] result = new long[array.length];
+        scan(array.length, block -> {
+            long sum = 0;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                sum += array[i];
+            }
+            return sum;
+        }, (block, offset) -> {
+            long sum = offset;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                sum += array[i];
+                result[i] = sum;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <h2> exclusiveScan - Parallel Prefix Sum </h2>
+     * <p> result[0] = 0 and result[i] = array[0] + ... + array[i - 1].</p>
+     * @param array integers array
+     * @return prefix sums, accumulated into longs
+     */
+    public long[] exclusiveScan(int[] array) {
+        long[] result = new long[array.length];
+        scan(array.length, block -> {
+            long sum = 0;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                sum += array[i];
+            }
+            return sum;
+        }, (block, offset) -> {
+            long sum = offset;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                result[i] = sum;
+                sum += array[i];
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <h2> inclusiveScan - Parallel Prefix Sum </h2>
+     * @param array longs array
+     * @return prefix sums
+     * @throws ArithmeticException if a prefix sum overflows a long
+     */
+    public long[] inclusiveScan(long[] array) {
+        long[] result = new long[array.length];
+        scan(array.length, block -> {
+            long sum = 0;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                sum = Math.addExact(sum, array[i]);
+            }
+            return sum;
+        }, (block, offset) -> {
+            long sum = offset;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                sum = Math.addExact(sum, array[i]);
+                result[i] = sum;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <h2> exclusiveScan - Parallel Prefix Sum </h2>
+     * @param array longs array
+     * @return prefix sums
+     * @throws ArithmeticException if a prefix sum overflows a long
+     */
+    public long[] exclusiveScan(long[] array) {
+        long[] result = new long[array.length];
+        scan(array.length, block -> {
+            long sum = 0;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                sum = Math.addExact(sum, array[i]);
+            }
+            return sum;
+        }, (block, offset) -> {
+            long sum = offset;
+            for (int i = blockStart(block); i < blockEnd(block, array.length); i++) {
+                result[i] = sum;
+                sum = Math.addExact(sum, array[i]);
+            }
+        });
+        return result;
+    }
+
+    private interface BlockSum {
+        long sum(int block);
+    }
+
+    private interface BlockScan {
+        void scan(int block, long offset);
+    }
+
+    private void scan(int length, BlockSum blockSum, BlockScan blockScan) {
+        int blocks = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        // Pass 1: sum of every block.
+        long[] offsets = new long[blocks];
+        forEachBlock(blocks, block -> offsets[block] = blockSum.sum(block));
+        // Turn the block sums into the offset every block starts from.
+        long running = 0;
+        for (int block = 0; block < blocks; block++) {
+            long sum = offsets[block];
+            offsets[block] = running;
+            running = Math.addExact(running, sum);
+        }
+        // Pass 2: scan every block from its offset.
+        forEachBlock(blocks, block -> blockScan.scan(block, offsets[block]));
+    }
+
+    private void forEachBlock(int blocks, IntConsumer body) {
+        pool.invoke(new BlockAction(body, 0, blocks));
+    }
+
+    private static int blockStart(int block) {
+        return block * BLOCK_SIZE;
+    }
+
+    private static int blockEnd(int block, int length) {
+        return (int) Math.min((long) (block + 1) * BLOCK_SIZE, length);
+    }
+
+    @SuppressWarnings("serial")
+    private static final class BlockAction extends RecursiveAction {
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        BlockAction(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    body.accept(from);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BlockAction(body, from, mid), new BlockAction(body, mid, to));
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class IntSumTask extends RecursiveTask<Long> {
+        private final int[] array;
+        private final int from;
+        private final int to;
+
+        IntSumTask(int[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= BLOCK_SIZE) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += array[i];
+                }
+                return sum;
+            }
+            int mid = (from + to) >>> 1;
+            IntSumTask left = new IntSumTask(array, from, mid);
+            left.fork();
+            long right = new IntSumTask(array, mid, to).compute();
+            return left.join() + right;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class LongSumTask extends RecursiveTask<Long> {
+        private final long[] array;
+        private final int from;
+        private final int to;
+
+        LongSumTask(long[] array, int from, int to) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= BLOCK_SIZE) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum = Math.addExact(sum, array[i]);
+                }
+                return sum;
+            }
+            int mid = (from + to) >>> 1;
+            LongSumTask left = new LongSumTask(array, from, mid);
+            left.fork();
+            long right = new LongSumTask(array, mid, to).compute();
+            return Math.addExact(left.join(), right);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SummarizeTask extends RecursiveTask<Statistics> {
+        private final int[] array;
+        private final int value;
+        private final int from;
+        private final int to;
+
+        SummarizeTask(int[] array, int value, int from, int to) {
+            this.array = array;
+            this.value = value;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Statistics compute() {
+            if (to - from <= BLOCK_SIZE) {
+                int max = Integer.MIN_VALUE;
+                int min = Integer.MAX_VALUE;
+                long sum = 0;
+                int occurrences = 0;
+                int firstIndex = -1;
+                for (int i = from; i < to; i++) {
+                    int element = array[i];
+                    max = Math.max(max, element);
+                    min = Math.min(min, element);
+                    sum += element;
+                    if (element == value) {
+                        if (occurrences == 0) {
+                            firstIndex = i;
+                        }
+                        occurrences++;
+                    }
+                }
+                return new Statistics(to - from, max, min, sum, occurrences, firstIndex);
+            }
+            int mid = (from + to) >>> 1;
+            SummarizeTask leftTask = new SummarizeTask(array, value, from, mid);
+            leftTask.fork();
+            Statistics right = new SummarizeTask(array, value, mid, to).compute();
+            Statistics left = leftTask.join();
+            return new Statistics(
+                    left.count() + right.count(),
+                    Math.max(left.max(), right.max()),
+                    Math.min(left.min(), right.min()),
+                    left.sum() + right.sum(),
+                    left.occurrences() + right.occurrences(),
+                    left.firstIndex() >= 0 ? left.firstIndex() : right.firstIndex());
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class MapReduceTask<A> extends RecursiveTask<A> {
+        private final int[] array;
+        private final Supplier<A> identity;
+        private final ObjIntConsumer<A> accumulator;
+        private final BinaryOperator<A> combiner;
+        private final int from;
+        private final int to;
+
+        MapReduceTask(int[] array, Supplier<A> identity, ObjIntConsumer<A> accumulator,
+                      BinaryOperator<A> combiner, int from, int to) {
+            this.array = array;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= BLOCK_SIZE) {
+                A result = identity.get();
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(result, array[i]);
+                }
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            MapReduceTask<A> left = new MapReduceTask<>(array, identity, accumulator, combiner, from, mid);
+            left.fork();
+            A right = new MapReduceTask<>(array, identity, accumulator, combiner, mid, to).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package org.notations.linear;
+
+import java.util.stream.IntStream;
+
+/**
+ * <h1> Segment Tree: O(n) build, O(log n) update and query </h1>
+ * <p> The scans in {@link LinearTime} visit every element on every call, which is O(n) per query.
+ * When the same array is queried again and again and only a few elements change between queries,
+ * it is cheaper to build an aggregate structure once and keep it up to date.</p>
+ * <p> This segment tree keeps the max, min and sum of every power-of-two block of the array,
+ * so a point update touches only the log n blocks that contain the changed index,
+ * and a range query combines at most 2 log n blocks.
+ * A count of every value is kept next to the tree in an open-addressing int map,
+ * so counting occurrences of any value over the whole array takes constant expected time.</p>
+ * <p> Counting a value inside a range needs a count in every node, like max, min and sum.
+ * That is kept for one target value chosen at construction
+ * (as {@link SlidingWindowAggregator} does), see {@link #countOccurrences(int, int)}.</p>
+ */
+public class SegmentTree {
+
+    // Levels with fewer nodes than this are built sequentially, the parallel overhead is not worth it.
+    private static final int PARALLEL_LEVEL_THRESHOLD = 1 << 14;
+    // Most leaves whose 2 * leaves nodes still fit in an int array.
+    private static final int MAX_LEAVES = 1 << 29;
+
+    private final int length;
+    private final int size;
+    private final int[] max;
+    private final int[] min;
+    private final long[] sum;
+    private final IntCounts counts;
+    private final boolean tracksTarget;
+    private final int target;
+    // Occurrences of target in the block of every node, null if no target is tracked.
+    private final int[] hits;
+
+    /**
+     * <h2> Bulk Build </h2>
+     * <p> Builds the tree bottom-up in O(n): the leaves are filled with the array elements
+     * and every internal node is computed once from its two children.</p>
+     * @param array integers array, it is copied and not modified
+     */
+    public SegmentTree(int[] array) {
+        this(array, false);
+    }
+
+    /**
+     * <h2> Bulk Build (optionally parallel) </h2>
+     * <p> Every level of the tree only depends on the level below it,
+     * so when parallel is true the nodes of each large level are computed in parallel.</p>
+     * @param array integers array, it is copied and not modified
+     * @param parallel true to build large levels on the common fork-join pool
+     */
+    public SegmentTree(int[] array, boolean parallel) {
+        this(array, parallel, false, 0);
+    }
+
+    /**
+     * <h2> Bulk Build with a Target Value </h2>
+     * <p> Also counts the target in every node, so its occurrences in any range can be queried in O(log n).</p>
+     * @param array integers array, it is copied and not modified
+     * @param parallel true to build large levels on the common fork-join pool
+     * @param target value to count in ranges
+     */
+    public SegmentTree(int[] array, boolean parallel, int target) {
+        this(array, parallel, true, target);
+    }
+
+    private SegmentTree(int[] array, boolean parallel, boolean tracksTarget, int target) {
+        this.length = array.length;
+        if (length > MAX_LEAVES) {
+            throw new IllegalArgumentException("Array of length " + length + " is longer than " + MAX_LEAVES);
+        }
+        this.tracksTarget = tracksTarget;
+        this.target = target;
+        int leaves = 1;
+        while (leaves < Math.max(1, length)) {
+            leaves <<= 1;
+        }
+        this.size = leaves;
+        this.max = new int[2 * size];
+        this.min = new int[2 * size];
+        this.sum = new long[2 * size];
+        this.hits = tracksTarget ? new int[2 * size] : null;
+
+        // Fill the leaves. Padding leaves hold the identity of each aggregate.
+        IntStream leafIndexes = IntStream.range(0, size);
+        if (parallel && size >= PARALLEL_LEVEL_THRESHOLD) {
+            leafIndexes = leafIndexes.parallel();
+        }
+        leafIndexes.forEach(i -> {
+            if (i < length) {
+                max[size + i] = array[i];
+                min[size + i] = array[i];
+                sum[size + i] = array[i];
+                if (tracksTarget && array[i] == target) {
+                    hits[size + i] = 1;
+                }
+            } else {
+                max[size + i] = Integer.MIN_VALUE;
+                min[size + i] = Integer.MAX_VALUE;
+            }
+        });
+
+        // Build the internal levels from the bottom up, level [levelStart, 2 * levelStart).
+        for (int levelStart = size / 2; levelStart >= 1; levelStart /= 2) {
+            IntStream nodes = IntStream.range(levelStart, 2 * levelStart);
+            if (parallel && levelStart >= PARALLEL_LEVEL_THRESHOLD) {
+                nodes = nodes.parallel();
+            }
+            nodes.forEach(this::pull);
+        }
+
+        this.counts = new IntCounts(length);
+        for (int i = 0; i < length; i++) {
+            counts.add(array[i], 1);
+        }
+    }
+
+    /**
+     * <h2> Point Update </h2>
+     * <p> Replaces the element at index and recomputes the log n ancestors of its leaf.</p>
+     * @param index index of element
+     * @param value new value of the element
+     */
+    public void update(int index, int value) {
+        checkIndex(index);
+        int node = size + index;
+        int old = max[node];
+        if (old == value) {
+            return;
+        }
+        counts.add(old, -1);
+        counts.add(value, 1);
+
+        max[node] = value;
+        min[node] = value;
+        sum[node] = value;
+        if (tracksTarget) {
+            hits[node] = value == target ? 1 : 0;
+        }
+        for (node /= 2; node >= 1; node /= 2) {
+            pull(node);
+        }
+    }
+
+    /**
+     * <h2> get </h2>
+     * @param index index of element
+     * @return element at index, in O(1)
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return max[size + index];
+    }
+
+    /**
+     * @return number of elements in the tree
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * <h2> Range Max </h2>
+     * @param from first index of the range, inclusive
+     * @param to last index of the range, exclusive
+     * @return max element in [from, to), in O(log n)
+     */
+    public int rangeMax(int from, int to) {
+        checkRange(from, to);
+        int result = Integer.MIN_VALUE;
+        for (int l = from + size, r = to + size; l < r; l /= 2, r /= 2) {
+            if ((l & 1) == 1) {
+                result = Math.max(result, max[l++]);
+            }
+            if ((r & 1) == 1) {
+                result = Math.max(result, max[--r]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <h2> Range Min </h2>
+     * @param from first index of the range, inclusive
+     * @param to last index of the range, exclusive
+     * @return min element in [from, to), in O(log n)
+     */
+    public int rangeMin(int from, int to) {
+        checkRange(from, to);
+        int result = Integer.MAX_VALUE;
+        for (int l = from + size, r = to + size; l < r; l /= 2, r /= 2) {
+            if ((l & 1) == 1) {
+                result = Math.min(result, min[l++]);
+            }
+            if ((r & 1) == 1) {
+                result = Math.min(result, min[--r]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <h2> Range Sum </h2>
+     * <p> The sum is accumulated into a long, so it does not overflow for any int array.</p>
+     * @param from first index of the range, inclusive
+     * @param to last index of the range, exclusive
+     * @return sum of the elements in [from, to), in O(log n)
+     */
+    public long rangeSum(int from, int to) {
+        checkRange(from, to);
+        long result = 0;
+        for (int l = from + size, r = to + size; l < r; l /= 2, r /= 2) {
+            if ((l & 1) == 1) {
+                result += sum[l++];
+            }
+            if ((r & 1) == 1) {
+                result += sum[--r];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <h2> findMax </h2>
+     * @return max element of the whole array, in O(1)
+     */
+    public int findMax() {
+        if (length == 0) {
+            throw new IllegalStateException("Tree is empty");
+        }
+        return max[1];
+    }
+
+    /**
+     * <h2> findMin </h2>
+     * @return min element of the whole array, in O(1)
+     */
+    public int findMin() {
+        if (length == 0) {
+            throw new IllegalStateException("Tree is empty");
+        }
+        return min[1];
+    }
+
+    /**
+     * <h2> sum </h2>
+     * @return sum of the whole array, in O(1)
+     */
+    public long sum() {
+        return sum[1];
+    }
+
+    /**
+     * <h2> countOccurrences </h2>
+     * <p> Same result as {@link LinearTime#countOccurrences(int[], int)},
+     * read from the value counts that are kept up to date on every update.</p>
+     * @param value to count its occurrences
+     * @return occurrences of value in the whole array, in O(1) expected time
+     */
+    public int countOccurrences(int value) {
+        return counts.get(value);
+    }
+
+    /**
+     * <h2> Range Count of the Target </h2>
+     * @param from first index of the range, inclusive
+     * @param to last index of the range, exclusive
+     * @return occurrences of the target in [from, to), in O(log n)
+     * @throws IllegalStateException if the tree was built without a target
+     */
+    public int countOccurrences(int from, int to) {
+        if (!tracksTarget) {
+            throw new IllegalStateException("Tree was built without a target value");
+        }
+        checkRange(from, to);
+        int result = 0;
+        for (int l = from + size, r = to + size; l < r; l /= 2, r /= 2) {
+            if ((l & 1) == 1) {
+                result += hits[l++];
+            }
+            if ((r & 1) == 1) {
+                result += hits[--r];
+            }
+        }
+        return result;
+    }
+
+    private void pull(int node) {
+        int left = 2 * node;
+        int right = left + 1;
+        max[node] = Math.max(max[left], max[right]);
+        min[node] = Math.min(min[left], min[right]);
+        sum[node] = sum[left] + sum[right];
+        if (tracksTarget) {
+            hits[node] = hits[left] + hits[right];
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > length || from >= to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+    }
+
+    // Count of every value, an open-addressing hash map with linear probing over plain int arrays,
+    // so updates neither box nor allocate. Values with count 0 are removed by shifting back the
+    // entries of their probe run, which keeps every lookup ending at the first empty slot.
+    private static final class IntCounts {
+        private int[] keys;
+        private int[] values;
+        private int entries;
+
+        IntCounts(int expected) {
+            int capacity = 16;
+            while (capacity < 2 * expected) {
+                capacity <<= 1;
+            }
+            keys = new int[capacity];
+            values = new int[capacity];
+        }
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); values[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return 0;
+        }
+
+        void add(int key, int delta) {
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (values[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == 0) {
+                keys[slot] = key;
+                values[slot] = delta;
+                if (++entries > keys.length / 2) {
+                    grow();
+                }
+            } else if ((values[slot] += delta) == 0) {
+                remove(slot);
+            }
+        }
+
+        // Moves later entries of the probe run into the hole when their home slot allows it.
+        private void remove(int hole) {
+            int mask = keys.length - 1;
+            entries--;
+            for (int slot = (hole + 1) & mask; values[slot] != 0; slot = (slot + 1) & mask) {
+                int home = slot(keys[slot], mask);
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = keys[slot];
+                    values[hole] = values[slot];
+                    hole = slot;
+                }
+            }
+            values[hole] = 0;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[2 * oldKeys.length];
+            values = new int[2 * oldValues.length];
+            entries = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldValues[i] != 0) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(int key, int mask) {
+            // Fibonacci hashing spreads consecutive values over the table.
+            int hash = key * 0x9E3779B9;
+            return (hash ^ hash >>> 16) & mask;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.notations.linear;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <h1> Selection: O(n) </h1>
+ * <p> Finds the k-th smallest element, the median or a percentile without sorting the whole array,
+ * and the k largest or smallest elements of very large arrays in parallel.</p>
+ * <p> <h3> Introselect </h3>
+ * Quickselect partitions the array around a pivot like quick sort does, but then continues
+ * into the one side that holds position k only, so the expected work is n + n/2 + n/4 + ... = O(n).
+ * <div> - The pivot is the median of the first, middle and last element, which handles sorted and
+ * reverse-sorted input that would make the last-element pivot of quick sort quadratic.</div>
+ * <div> - The partition is 3-way (smaller, equal, greater than the pivot), so arrays with many duplicates
+ * finish as soon as k falls into the equal part, instead of degrading.</div>
+ * <div> - If the range has not shrunk after about 2 log n partitions, the input is adversarial,
+ * and the pivot is chosen by median of medians from then on, which guarantees O(n) in the worst case.</div>
+ * </p>
+ * <p> The selection methods reorder the array in place instead of working on a copy.</p>
+ */
+public class Selection {
+
+    // Ranges this short are finished with an insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    // Arrays at least this long are split into chunks for the parallel top-k.
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    // Chunks per worker of the parallel top-k: more chunks balance better, but add k values each to merge.
+    private static final int CHUNKS_PER_THREAD = 2;
+
+    private final ForkJoinPool pool;
+
+    public Selection() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool fork-join pool that runs the parallel top-k
+     */
+    public Selection(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * <h2> select - k-th Smallest Element </h2>
+     * <p> After the call, array[k] holds the element, every element before it is no greater,
+     * and every element after it is no smaller.</p>
+     * @param array integers array, reordered in place
+     * @param k position in sorted order, 0 for the smallest
+     * @return the k-th smallest element
+     */
+    public int select(int[] array, int k) {
+        if (k < 0 || k >= array.length) {
+            throw new IndexOutOfBoundsException("k " + k + " out of bounds for length " + array.length);
+        }
+        return select(array, 0, array.length - 1, k);
+    }
+
+    /**
+     * <h2> median </h2>
+     * @param array integers array, reordered in place
+     * @return the lower median: the element at position (n - 1) / 2 in sorted order
+     */
+    public int median(int[] array) {
+        return select(array, (array.length - 1) / 2);
+    }
+
+    /**
+     * <h2> percentile </h2>
+     * <p> Nearest-rank percentile: the smallest element such that at least p percent of the elements
+     * are no greater than it.</p>
+     * @param array integers array, reordered in place
+     * @param percent between 0 and 100
+     * @return the percentile element
+     */
+    public int percentile(int[] array, double percent) {
+        if (percent < 0 || percent > 100 || Double.isNaN(percent)) {
+            throw new IllegalArgumentException("percent must be between 0 and 100: " + percent);
+        }
+        int rank = (int) Math.ceil(percent / 100 * array.length);
+        return select(array, Math.max(0, rank - 1));
+    }
+
+    /**
+     * <h2> smallest </h2>
+     * @param array integers array, reordered in place
+     * @param k number of elements, at most array.length
+     * @return the k smallest elements, in no particular order
+     */
+    public int[] smallest(int[] array, int k) {
+        if (k < 0 || k > array.length) {
+            throw new IllegalArgumentException("k must be between 0 and " + array.length + ": " + k);
+        }
+        if (k > 0 && k < array.length) {
+            // Everything before position k - 1 is no greater than the element there.
+            select(array, k - 1);
+        }
+        int[] result = new int[k];
+        System.arraycopy(array, 0, result, 0, k);
+        return result;
+    }
+
+    /**
+     * <h2> topK - Parallel </h2>
+     * <p> The array is not modified. Every chunk is scanned by its own {@link TopK},
+     * and the partial results are merged, so the array is read once and only k values per chunk are combined.</p>
+     * @param array integers array
+     * @param k number of elements
+     * @param largest true for the largest elements, false for the smallest
+     * @return the k largest (descending) or smallest (ascending) elements,
+     * fewer if the array is shorter than k
+     */
+    public int[] topK(int[] array, int k, boolean largest) {
+        int chunks = array.length < PARALLEL_THRESHOLD ? 1 : pool.getParallelism() * CHUNKS_PER_THREAD;
+        TopK[] partials = new TopK[chunks];
+        for (int c = 0; c < chunks; c++) {
+            partials[c] = largest ? TopK.largest(k) : TopK.smallest(k);
+        }
+        if (chunks == 1) {
+            scan(array, 0, array.length, partials[0]);
+        } else {
+            List<RecursiveAction> tasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                int from = (int) ((long) array.length * c / chunks);
+                int to = (int) ((long) array.length * (c + 1) / chunks);
+                TopK partial = partials[c];
+                tasks.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        scan(array, from, to, partial);
+                    }
+                });
+            }
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+        TopK result = partials[0];
+        for (int c = 1; c < chunks; c++) {
+            result.merge(partials[c]);
+        }
+        return result.toSortedArray();
+    }
+
+    private void scan(int[] array, int from, int to, TopK topK) {
+        for (int i = from; i < to; i++) {
+            topK.accept(array[i]);
+        }
+    }
+
+    // Introselect on [low, high], returns the element that belongs at position k.
+    private int select(int[] array, int low, int high, int k) {
+        int badPartitionsLeft = 2 * (32 - Integer.numberOfLeadingZeros(high - low + 1));
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int size = high - low + 1;
+            int pivot = badPartitionsLeft > 0
+                    ? medianOfThree(array[low], array[low + (high - low) / 2], array[high])
+                    : medianOfMedians(array, low, high);
+
+            // 3-way partition: [low, lessEnd) < pivot, [lessEnd, greaterStart] == pivot, (greaterStart, high] > pivot.
+            int lessEnd = low;
+            int greaterStart = high;
+            int i = low;
+            while (i <= greaterStart) {
+                int value = array[i];
+                if (value < pivot) {
+                    swap(array, i++, lessEnd++);
+                } else if (value > pivot) {
+                    swap(array, i, greaterStart--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (k < lessEnd) {
+                high = lessEnd - 1;
+            } else if (k > greaterStart) {
+                low = greaterStart + 1;
+            } else {
+                return pivot;
+            }
+            // A good pivot leaves at most 3/4 of the range.
+            if (high - low + 1 > size - size / 4) {
+                badPartitionsLeft--;
+            }
+        }
+        insertionSort(array, low, high);
+        return array[k];
+    }
+
+    // Median of the medians of groups of 5: a pivot with at least 30% of the range on each side.
+    private int medianOfMedians(int[] array, int low, int high) {
+        int medians = 0;
+        for (int groupStart = low; groupStart <= high; groupStart += 5) {
+            int groupEnd = Math.min(groupStart + 4, high);
+            insertionSort(array, groupStart, groupEnd);
+            // Collect the group medians at the start of the range.
+            swap(array, low + medians++, groupStart + (groupEnd - groupStart) / 2);
+        }
+        return select(array, low, low + medians - 1, low + (medians - 1) / 2);
+    }
+
+    private int medianOfThree(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private void insertionSort(int[] array, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int key = array[i];
+            int j = i - 1;
+            while (j >= low && array[j] > key) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    private void swap(int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+}
@@ -0,0 +1,217 @@
+package org.notations.linear;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+/**
+ * <h1> Sliding Window Aggregator: O(1) amortized per element </h1>
+ * <p> A streaming version of the scans in {@link LinearTime}.
+ * Instead of a finished array, the elements arrive one by one from producer threads
+ * through an {@link IntRingBuffer}, and one consumer thread keeps the results up to date as they arrive.</p>
+ * <p> For the whole stream it keeps the running max, the count of elements and the number of
+ * occurrences of a target value (the streaming form of findMax, countOccurrences and linearSearch).
+ * For the last windowSize elements it keeps the same results, and every slide elements
+ * it reports one line for the current window. When slide equals windowSize the windows are tumbling,
+ * when it is smaller they overlap.</p>
+ * <p> The window max uses a monotonic queue: an element is removed from the queue once a later,
+ * larger element arrives, because it can never be the max again. Every element enters and leaves
+ * the queue at most once, so the cost is O(1) amortized per element.</p>
+ * <p> Report lines are collected in a buffer and written to the sink in batches,
+ * instead of one synchronized println per element. Nothing is allocated per element.</p>
+ */
+public class SlidingWindowAggregator implements IntConsumer, Runnable {
+
+    private static final int DRAIN_BATCH = 1024;
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+
+    private final IntRingBuffer source;
+    private final int windowSize;
+    private final int slide;
+    private final int target;
+    private final Writer sink;
+    private final StringBuilder output = new StringBuilder(FLUSH_THRESHOLD + 128);
+
+    // Last windowSize elements, indexed by position % windowSize.
+    private final int[] window;
+    // Positions of the monotonic max queue, stored in a circular array.
+    private final long[] maxQueue;
+    private int queueHead;
+    private int queueSize;
+
+    private long count;
+    private int runningMax = Integer.MIN_VALUE;
+    private long targetOccurrences;
+    private long lastTargetPosition = -1;
+    private int windowTargetOccurrences;
+
+    private volatile boolean stopped;
+
+    /**
+     * @param source ring buffer the producers write to
+     * @param windowSize number of elements in a window
+     * @param slide number of elements between two reports, equal to windowSize for tumbling windows
+     * @param target value to count and search for
+     * @param sink receives one report line per window
+     */
+    public SlidingWindowAggregator(IntRingBuffer source, int windowSize, int slide, int target, Writer sink) {
+        if (windowSize <= 0 || slide <= 0 || slide > windowSize) {
+            throw new IllegalArgumentException("Expected 0 < slide <= windowSize, got slide=" + slide
+                    + " windowSize=" + windowSize);
+        }
+        this.source = source;
+        this.windowSize = windowSize;
+        this.slide = slide;
+        this.target = target;
+        this.sink = sink;
+        this.window = new int[windowSize];
+        this.maxQueue = new long[windowSize];
+    }
+
+    /**
+     * <h2> run </h2>
+     * <p> Consumer loop: drains the ring buffer in batches until {@link #stop()} is called
+     * and the buffer is empty, then flushes the remaining output.</p>
+     */
+    @Override
+    public void run() {
+        while (true) {
+            int drained = source.drain(this, DRAIN_BATCH);
+            if (drained == 0) {
+                if (stopped && source.isEmpty()) {
+                    break;
+                }
+                LockSupport.parkNanos(10_000); // Nothing to do, back off briefly.
+            }
+        }
+        flush();
+    }
+
+    /**
+     * <h2> stop </h2>
+     * <p> Asks the consumer loop to finish once all values published so far are processed.</p>
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * <h2> accept - Process One Element </h2>
+     * <p> Called by the consumer loop, or directly when the elements are already on the calling thread.</p>
+     * @param value next element of the stream
+     */
+    @Override
+    public void accept(int value) {
+        long position = count;
+        int slot = (int) (position % windowSize);
+
+        // Drop the element leaving the window.
+        if (position >= windowSize) {
+            if (window[slot] == target) {
+                windowTargetOccurrences--;
+            }
+            if (queueSize > 0 && maxQueue[queueHead] <= position - windowSize) {
+                queueHead = (queueHead + 1) % windowSize;
+                queueSize--;
+            }
+        }
+
+        // Add the new element.
+        window[slot] = value;
+        while (queueSize > 0 && window[(int) (maxQueue[(queueHead + queueSize - 1) % windowSize] % windowSize)] <= value) {
+            queueSize--; // A later, larger element means these can never be the window max again.
+        }
+        maxQueue[(queueHead + queueSize) % windowSize] = position;
+        queueSize++;
+
+        if (value == target) {
+            windowTargetOccurrences++;
+            targetOccurrences++;
+            lastTargetPosition = position;
+        }
+        if (value > runningMax) {
+            runningMax = value;
+        }
+        count++;
+
+        if (count % slide == 0) {
+            report();
+        }
+    }
+
+    /**
+     * @return number of elements processed
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return max of all elements processed, Integer.MIN_VALUE if none
+     */
+    public int runningMax() {
+        return runningMax;
+    }
+
+    /**
+     * @return max of the current window
+     */
+    public int windowMax() {
+        if (queueSize == 0) {
+            throw new IllegalStateException("Window is empty");
+        }
+        return window[(int) (maxQueue[queueHead] % windowSize)];
+    }
+
+    /**
+     * @return occurrences of the target in all elements processed
+     */
+    public long targetOccurrences() {
+        return targetOccurrences;
+    }
+
+    /**
+     * @return occurrences of the target in the current window
+     */
+    public int windowTargetOccurrences() {
+        return windowTargetOccurrences;
+    }
+
+    /**
+     * @return stream position of the last occurrence of the target, otherwise returns -1
+     */
+    public long lastTargetPosition() {
+        return lastTargetPosition;
+    }
+
+    /**
+     * <h2> flush </h2>
+     * <p> Writes the buffered report lines to the sink.</p>
+     */
+    public void flush() {
+        try {
+            if (output.length() > 0) {
+                sink.append(output);
+                output.setLength(0);
+            }
+            sink.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void report() {
+        output.append("end=").append(count)
+                .append(" size=").append(Math.min(count, windowSize))
+                .append(" max=").append(windowMax())
+                .append(" hits=").append(windowTargetOccurrences)
+                .append(" totalMax=").append(runningMax)
+                .append(" totalHits=").append(targetOccurrences)
+                .append('\n');
+        if (output.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.notations.linear;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * <h1> Streaming Top-K: O(n log k) </h1>
+ * <p> Keeps the k largest (or smallest) ints seen so far in a bounded binary heap,
+ * so input of any length is processed in O(k) memory, one value at a time.</p>
+ * <p> The heap root is the worst value kept. A new value that is not better than the root is dropped
+ * after a single comparison, which is the common case once the heap is full,
+ * so most of the input costs O(1) and only improvements cost O(log k).</p>
+ * <p> The heap is a plain int[]: values are never boxed.
+ * For the smallest values, every value is stored bit-flipped (~value), which reverses
+ * the int order without the overflow of negating Integer.MIN_VALUE, and the same heap is used.</p>
+ * <p> Partial results of separate chunks (for example parallel workers) are combined with {@link #merge(TopK)}.
+ * Not thread-safe: every worker uses its own TopK.</p>
+ */
+public class TopK implements IntConsumer {
+
+    private final int k;
+    private final boolean largest;
+    private final int[] heap;
+    private int size;
+
+    private TopK(int k, boolean largest) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        this.k = k;
+        this.largest = largest;
+        this.heap = new int[k];
+    }
+
+    /**
+     * @param k number of values to keep
+     * @return empty top-k of the largest values
+     */
+    public static TopK largest(int k) {
+        return new TopK(k, true);
+    }
+
+    /**
+     * @param k number of values to keep
+     * @return empty top-k of the smallest values
+     */
+    public static TopK smallest(int k) {
+        return new TopK(k, false);
+    }
+
+    /**
+     * <h2> accept </h2>
+     * @param value next value of the stream
+     */
+    @Override
+    public void accept(int value) {
+        int stored = largest ? value : ~value;
+        if (size < k) {
+            heap[size] = stored;
+            siftUp(size++);
+        } else if (k > 0 && stored > heap[0]) {
+            heap[0] = stored;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * <h2> merge </h2>
+     * <p> Adds the values kept by another top-k of the same kind, for example of another chunk.</p>
+     * @param other top-k with the same k and direction
+     * @return this top-k, now holding the best k of both
+     */
+    public TopK merge(TopK other) {
+        if (other.k != k || other.largest != largest) {
+            throw new IllegalArgumentException("Only top-k results of the same k and direction can be merged");
+        }
+        for (int i = 0; i < other.size; i++) {
+            accept(largest ? other.heap[i] : ~other.heap[i]);
+        }
+        return this;
+    }
+
+    /**
+     * @return number of values kept, k once at least k values were seen
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * <h2> boundary </h2>
+     * <p> The k-th largest (or smallest) value so far: a new value must beat it to be kept.</p>
+     * @return the worst value kept
+     * @throws IllegalStateException if no value is kept
+     */
+    public int boundary() {
+        if (size == 0) {
+            throw new IllegalStateException("No values kept");
+        }
+        return largest ? heap[0] : ~heap[0];
+    }
+
+    /**
+     * <h2> toSortedArray </h2>
+     * @return the values kept, best first: descending for largest, ascending for smallest
+     */
+    public int[] toSortedArray() {
+        int[] stored = Arrays.copyOf(heap, size);
+        Arrays.sort(stored);
+        // Sorted ascending by stored value, so the best value is last.
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            int value = stored[size - 1 - i];
+            result[i] = largest ? value : ~value;
+        }
+        return result;
+    }
+
+    private void siftUp(int index) {
+        int value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    private void siftDown(int index) {
+        int value = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = value;
+    }
+}
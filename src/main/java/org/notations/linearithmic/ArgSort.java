@@ -0,0 +1,199 @@
+package org.notations.linearithmic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * <h1> ArgSort: Sorting a Table by Index Permutation, O(n * k) </h1>
+ * <p> A table stored as columns (one primitive array per column) is sorted without moving its rows:
+ * {@link #argsort(SortKey...)} returns the permutation of row indexes that sorts the table by one or
+ * more key columns, and {@link #gather} applies that permutation to any column that is needed.
+ * No row objects are created, and columns that are not needed are never touched.</p>
+ * <p> <h3> How it works </h3>
+ * <div> 1) The keys are sorted from the last one to the first, and every sort is stable,
+ * so rows with equal first keys stay ordered by the next keys (for (region, timestamp):
+ * sort by timestamp, then stably by region).</div>
+ * <div> 2) For every key, the key values are gathered in the current permutation order into a long[],
+ * and the (key, index) pairs are sorted with an LSD radix sort, one byte per pass.
+ * A radix sort is stable and does not compare, so a key costs O(n) per byte instead of O(n log n).</div>
+ * <div> 3) Passes where all keys have the same byte (for example the upper bytes of a small region code,
+ * or of int keys) are skipped, so narrow keys take fewer passes.</div>
+ * </p>
+ * <p> The gathers, of key values and of result columns, run in parallel for large tables.</p>
+ */
+public class ArgSort {
+
+    // Tables with at least this many rows are gathered in parallel.
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    // Chunks per worker of a parallel gather, so a slow worker does not hold up the others.
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    private final ForkJoinPool pool;
+
+    public ArgSort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool fork-join pool that runs the parallel gathers
+     */
+    public ArgSort(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * <h2> argsort </h2>
+     * @param keys key columns, most significant first, all of the same length
+     * @return permutation p such that row p[0] comes first, p[1] second, and so on.
+     * Rows with equal keys keep their original order.
+     */
+    public int[] argsort(SortKey... keys) {
+        if (keys.length == 0) {
+            throw new IllegalArgumentException("At least one sort key is needed");
+        }
+        int n = keys[0].rows();
+        for (SortKey key : keys) {
+            if (key.rows() != n) {
+                throw new IllegalArgumentException("All key columns must have " + n + " rows");
+            }
+        }
+        int[] identity = new int[n];
+        forEach(n, i -> identity[i] = i);
+        int[] permutation = identity;
+
+        long[] values = new long[n];
+        long[] valuesBuffer = new long[n];
+        int[] permutationBuffer = new int[n];
+        for (int k = keys.length - 1; k >= 0; k--) {
+            SortKey key = keys[k];
+            int[] order = permutation;
+            forEach(n, i -> values[i] = key.key(order[i]));
+            if (radixSort(values, permutation, valuesBuffer, permutationBuffer)) {
+                // The result ended up in the buffer, swap the roles of the two arrays.
+                int[] temp = permutation;
+                permutation = permutationBuffer;
+                permutationBuffer = temp;
+            }
+        }
+        return permutation;
+    }
+
+    /**
+     * <h2> gather - int Column </h2>
+     * @param column column of the table
+     * @param permutation row order, for example from {@link #argsort(SortKey...)}
+     * @return new column with result[i] = column[permutation[i]]
+     */
+    public int[] gather(int[] column, int[] permutation) {
+        int[] result = new int[permutation.length];
+        forEach(permutation.length, i -> result[i] = column[permutation[i]]);
+        return result;
+    }
+
+    /**
+     * <h2> gather - long Column </h2>
+     * @param column column of the table
+     * @param permutation row order
+     * @return new column with result[i] = column[permutation[i]]
+     */
+    public long[] gather(long[] column, int[] permutation) {
+        long[] result = new long[permutation.length];
+        forEach(permutation.length, i -> result[i] = column[permutation[i]]);
+        return result;
+    }
+
+    /**
+     * <h2> gather - double Column </h2>
+     * @param column column of the table
+     * @param permutation row order
+     * @return new column with result[i] = column[permutation[i]]
+     */
+    public double[] gather(double[] column, int[] permutation) {
+        double[] result = new double[permutation.length];
+        forEach(permutation.length, i -> result[i] = column[permutation[i]]);
+        return result;
+    }
+
+    // Runs the action for 0..n-1, in parallel on the pool for large tables.
+    private void forEach(int n, IntConsumer action) {
+        if (n < PARALLEL_THRESHOLD) {
+            forRange(0, n, action);
+            return;
+        }
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        List<RecursiveAction> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) n * c / chunks);
+            int to = (int) ((long) n * (c + 1) / chunks);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    forRange(from, to, action);
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    private void forRange(int from, int to, IntConsumer action) {
+        for (int i = from; i < to; i++) {
+            action.accept(i);
+        }
+    }
+
+    // Stable LSD radix sort of the (value, index) pairs by the unsigned value.
+    // Returns true if the sorted pairs are in the buffers rather than in the original arrays.
+    private boolean radixSort(long[] values, int[] indexes, long[] valuesBuffer, int[] indexesBuffer) {
+        int n = values.length;
+        if (n <= 1) {
+            return false;
+        }
+        // One pass over the values counts the bytes of every pass.
+        int[][] counts = new int[PASSES][RADIX];
+        for (long value : values) {
+            for (int pass = 0; pass < PASSES; pass++) {
+                counts[pass][(int) (value >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+            }
+        }
+
+        long[] sourceValues = values, targetValues = valuesBuffer;
+        int[] sourceIndexes = indexes, targetIndexes = indexesBuffer;
+        boolean swapped = false;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int shift = pass * RADIX_BITS;
+            int[] count = counts[pass];
+            if (count[(int) (sourceValues[0] >>> shift) & (RADIX - 1)] == n) {
+                continue; // Every value has the same byte here, the pass would not move anything.
+            }
+            int[] offsets = new int[RADIX];
+            for (int digit = 1; digit < RADIX; digit++) {
+                offsets[digit] = offsets[digit - 1] + count[digit - 1];
+            }
+            for (int i = 0; i < n; i++) {
+                long value = sourceValues[i];
+                int position = offsets[(int) (value >>> shift) & (RADIX - 1)]++;
+                targetValues[position] = value;
+                targetIndexes[position] = sourceIndexes[i];
+            }
+            long[] tempValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = tempValues;
+            int[] tempIndexes = sourceIndexes;
+            sourceIndexes = targetIndexes;
+            targetIndexes = tempIndexes;
+            swapped = !swapped;
+        }
+        return swapped;
+    }
+}
@@ -1,5 +1,11 @@
 package org.notations.linearithmic;
 
+import org.notations.linear.ArrayOps;
+
+import java.nio.IntBuffer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
 /**
  * <h1> Linearithmic Time: O(n log n) </h1>
  * <p>
@@ -15,6 +21,11 @@ package org.notations.linearithmic;
  */
 public class LinearithmicTime {
 
+    // Ranges this short are insertion sorted by the key sorts instead of split further.
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final ArrayOps arrayOps = new ArrayOps();
+
     /**
      * <h2> Merge Sort </h2>
      * <p> Merge Sort is a popular sorting algorithm that uses
@@ -31,7 +42,8 @@ public class LinearithmicTime {
      * The array is divided into two subarrays, left and right,
      * by calculating the middle index.</div>
      * <div> 3) Populating Subarrays:
-     * The elements of the original array are copied into the left and right subarrays.</div>
+     * The elements of the original array are copied into the left and right subarrays
+     * with bulk copies ({@link ArrayOps}).</div>
      * <div> 4) Recursive Sorting:
      * The mergeSort method is called recursively on both the left and right subarrays.</div>
      * <div> 5) Merging:
@@ -57,17 +69,9 @@ public class LinearithmicTime {
             // Calculate the middle index of the array.
             int middle = array.length / 2;
 
-            // Create two subarrays by dividing the input array in half.
-            int[] left = new int[middle];
-            int[] right = new int[array.length - middle];
-
-            // Populate the left and right subarrays.
-            for (int i = 0; i < middle; i++) {
-                left[i] = array[i];
-            }
-            for (int i = middle; i < array.length; i++) {
-                right[i - middle] = array[i];
-            }
+            // Create and populate two subarrays by dividing the input array in half.
+            int[] left = arrayOps.slice(array, 0, middle);
+            int[] right = arrayOps.slice(array, middle, array.length);
 
             // Recursively sort the left and right subarrays.
             mergeSort(left);
@@ -93,17 +97,153 @@ public class LinearithmicTime {
             }
 
             // Copy any remaining elements from the left and right subarrays, if any.
-            while (i < left.length) {
-                result[k] = left[i];
-                i++;
-                k++;
+            arrayOps.copy(left, i, result, k, left.length - i);
+            k += left.length - i;
+            arrayOps.copy(right, j, result, k, right.length - j);
+        }
+
+    /**
+     * <h2> Merge Sort - long </h2>
+     * <p> Same algorithm as {@link #mergeSort(int[])}, for 64-bit keys such as timestamps.</p>
+     * @param array longs array
+     */
+    public void mergeSort(long[] array) {
+        if (array.length <= 1) {
+            return;
+        }
+        int middle = array.length / 2;
+        long[] left = arrayOps.slice(array, 0, middle);
+        long[] right = arrayOps.slice(array, middle, array.length);
+        mergeSort(left);
+        mergeSort(right);
+        merge(array, left, right);
+    }
+
+    private void merge(long[] result, long[] left, long[] right) {
+        int i = 0, j = 0, k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] <= right[j]) {
+                result[k++] = left[i++];
+            } else {
+                result[k++] = right[j++];
             }
-            while (j < right.length) {
-                result[k] = right[j];
-                j++;
-                k++;
+        }
+        arrayOps.copy(left, i, result, k, left.length - i);
+        k += left.length - i;
+        arrayOps.copy(right, j, result, k, right.length - j);
+    }
+
+    /**
+     * <h2> Merge Sort - double </h2>
+     * <p> Same algorithm as {@link #mergeSort(int[])}, ordering the values by {@link Double#compare}:
+     * -0.0 before 0.0, and NaN after every other value (the order of {@link java.util.Arrays#sort(double[])}).
+     * Plain &lt; would treat -0.0 and 0.0 as equal and leave NaNs wherever they happen to be.</p>
+     * @param array doubles array
+     */
+    public void mergeSort(double[] array) {
+        if (array.length <= 1) {
+            return;
+        }
+        int middle = array.length / 2;
+        double[] left = arrayOps.slice(array, 0, middle);
+        double[] right = arrayOps.slice(array, middle, array.length);
+        mergeSort(left);
+        mergeSort(right);
+        merge(array, left, right);
+    }
+
+    private void merge(double[] result, double[] left, double[] right) {
+        int i = 0, j = 0, k = 0;
+        while (i < left.length && j < right.length) {
+            if (Double.compare(left[i], right[j]) <= 0) {
+                result[k++] = left[i++];
+            } else {
+                result[k++] = right[j++];
+            }
+        }
+        arrayOps.copy(left, i, result, k, left.length - i);
+        k += left.length - i;
+        arrayOps.copy(right, j, result, k, right.length - j);
+    }
+
+    /**
+     * <h2> Merge Sort - By long Key </h2>
+     * <p> Sorts objects by a long key without boxing it and without calling the key extractor
+     * more than once per object: the keys are extracted into a long[], and the keys and objects
+     * are merged side by side, comparing primitives only. The sort is stable.</p>
+     * @param array objects to sort
+     * @param key extracts the sort key of an object
+     */
+    public <T> void mergeSortByLongKey(T[] array, ToLongFunction<? super T> key) {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = key.applyAsLong(array[i]);
+        }
+        sortByKeys(array, keys);
+    }
+
+    /**
+     * <h2> Merge Sort - By double Key </h2>
+     * <p> Same as {@link #mergeSortByLongKey(Object[], ToLongFunction)}, for double keys such as prices,
+     * ordered by {@link Double#compare}.
+     * Every double key is turned into a long with the same order, so the merge compares longs:
+     * for a non-negative double the raw bits already order correctly,
+     * and for a negative one flipping all bits but the sign reverses their order.</p>
+     * @param array objects to sort
+     * @param key extracts the sort key of an object
+     */
+    public <T> void mergeSortByDoubleKey(T[] array, ToDoubleFunction<? super T> key) {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            long bits = Double.doubleToLongBits(key.applyAsDouble(array[i]));
+            keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+        sortByKeys(array, keys);
+    }
+
+    private <T> void sortByKeys(T[] array, long[] keys) {
+        // Both copies start equal, every level merges from one into the other.
+        T[] arrayBuffer = array.clone();
+        long[] keyBuffer = arrayOps.copy(keys);
+        sortByKeys(keyBuffer, arrayBuffer, keys, array, 0, array.length);
+    }
+
+    // Sorts [from, to) into the target arrays, using the source arrays as scratch space.
+    private <T> void sortByKeys(long[] sourceKeys, T[] source, long[] targetKeys, T[] target, int from, int to) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                long currentKey = targetKeys[i];
+                T current = target[i];
+                int j = i - 1;
+                while (j >= from && targetKeys[j] > currentKey) {
+                    targetKeys[j + 1] = targetKeys[j];
+                    target[j + 1] = target[j];
+                    j--;
+                }
+                targetKeys[j + 1] = currentKey;
+                target[j + 1] = current;
             }
+            return;
         }
+        int middle = (from + to) >>> 1;
+        sortByKeys(targetKeys, target, sourceKeys, source, from, middle);
+        sortByKeys(targetKeys, target, sourceKeys, source, middle, to);
+
+        int i = from, j = middle, k = from;
+        while (i < middle && j < to) {
+            if (sourceKeys[i] <= sourceKeys[j]) {
+                targetKeys[k] = sourceKeys[i];
+                target[k++] = source[i++];
+            } else {
+                targetKeys[k] = sourceKeys[j];
+                target[k++] = source[j++];
+            }
+        }
+        int rest = i < middle ? middle - i : to - j;
+        int restFrom = i < middle ? i : j;
+        System.arraycopy(sourceKeys, restFrom, targetKeys, k, rest);
+        System.arraycopy(source, restFrom, target, k, rest);
+    }
 
     /**
      * <h2> Quick Sort </h2>
@@ -135,6 +275,11 @@ public class LinearithmicTime {
      * @param high
      */
     public void quickSort(int[] array, int low, int high) {
+        // Check for the base case: a subarray with 0 or 1 elements is already sorted.
+        if (low >= high) {
+            return;
+        }
+
         // Partition the array into two subarrays and get the pivot's final position.
         int pivotIndex = partition(array, low, high);
 
@@ -167,5 +312,168 @@ public class LinearithmicTime {
         return i + 1; // Return the index of the pivot.
     }
 
+    /**
+     * <h2> Quick Sort - IntBuffer </h2>
+     * <p> Sorts ints outside the heap in place, such as a buffer from ColumnarReader.mapIntArrayForUpdate.
+     * Mapped files are often already sorted (DELTA_VARINT arrays always are), which is the worst case of
+     * the last-element pivot of {@link #quickSort(int[], int, int)}, so this overload differs in three ways:</p>
+     * <div> - The pivot is the median of the first, middle and last element, so sorted and reverse-sorted
+     * input is split in the middle.</div>
+     * <div> - Only the smaller side is sorted recursively and the larger one in a loop,
+     * so the recursion is at most log n deep.</div>
+     * <div> - After about 2 log n partitions the rest of the range is heap sorted, which bounds the time
+     * at O(n log n) for any input, including many equal values (introsort).</div>
+     * <p> There is no merge sort for buffers: it needs a second array of n ints,
+     * which is the copy that mapping the file avoids.</p>
+     * @param buffer writable integers buffer
+     * @param low first index to sort
+     * @param high last index to sort, inclusive
+     */
+    public void quickSort(IntBuffer buffer, int low, int high) {
+        if (low >= high) {
+            return;
+        }
+        quickSort(buffer, low, high, 2 * (32 - Integer.numberOfLeadingZeros(high - low + 1)));
+    }
+
+    private void quickSort(IntBuffer buffer, int low, int high, int depthLeft) {
+        while (low < high) {
+            if (depthLeft-- == 0) {
+                heapSort(buffer, low, high);
+                return;
+            }
+            int pivotIndex = partition(buffer, low, high);
+            if (pivotIndex - low < high - pivotIndex) {
+                quickSort(buffer, low, pivotIndex - 1, depthLeft);
+                low = pivotIndex + 1;
+            } else {
+                quickSort(buffer, pivotIndex + 1, high, depthLeft);
+                high = pivotIndex - 1;
+            }
+        }
+    }
+
+    private int partition(IntBuffer buffer, int low, int high) {
+        // Move the median of three to high, then partition around it as the int[] version does.
+        int middle = (low + high) >>> 1;
+        if (buffer.get(middle) < buffer.get(low)) {
+            swap(buffer, middle, low);
+        }
+        if (buffer.get(high) < buffer.get(low)) {
+            swap(buffer, high, low);
+        }
+        if (buffer.get(middle) < buffer.get(high)) {
+            swap(buffer, middle, high);
+        }
+        int pivot = buffer.get(high);
+        int i = low - 1;
+        for (int j = low; j < high; j++) {
+            if (buffer.get(j) < pivot) {
+                swap(buffer, ++i, j);
+            }
+        }
+        swap(buffer, i + 1, high);
+        return i + 1;
+    }
+
+    private void heapSort(IntBuffer buffer, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(buffer, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(buffer, low, low + end);
+            siftDown(buffer, low, 0, end);
+        }
+    }
+
+    // Max-heap of size n stored at buffer[offset..offset+n-1].
+    private void siftDown(IntBuffer buffer, int offset, int index, int n) {
+        int value = buffer.get(offset + index);
+        int child;
+        while ((child = 2 * index + 1) < n) {
+            if (child + 1 < n && buffer.get(offset + child + 1) > buffer.get(offset + child)) {
+                child++;
+            }
+            if (value >= buffer.get(offset + child)) {
+                break;
+            }
+            buffer.put(offset + index, buffer.get(offset + child));
+            index = child;
+        }
+        buffer.put(offset + index, value);
+    }
+
+    private void swap(IntBuffer buffer, int i, int j) {
+        int temp = buffer.get(i);
+        buffer.put(i, buffer.get(j));
+        buffer.put(j, temp);
+    }
+
+    /**
+     * <h2> Quick Sort - long </h2>
+     * @param array longs array
+     * @param low first index to sort
+     * @param high last index to sort, inclusive
+     */
+    public void quickSort(long[] array, int low, int high) {
+        if (low >= high) {
+            return;
+        }
+        int pivotIndex = partition(array, low, high);
+        quickSort(array, low, pivotIndex - 1);
+        quickSort(array, pivotIndex + 1, high);
+    }
+
+    private int partition(long[] array, int low, int high) {
+        long pivot = array[high];
+        int i = low - 1;
+        for (int j = low; j < high; j++) {
+            if (array[j] < pivot) {
+                i++;
+                long temp = array[i];
+                array[i] = array[j];
+                array[j] = temp;
+            }
+        }
+        long temp = array[i + 1];
+        array[i + 1] = array[high];
+        array[high] = temp;
+        return i + 1;
+    }
+
+    /**
+     * <h2> Quick Sort - double </h2>
+     * <p> Orders the values by {@link Double#compare}, see {@link #mergeSort(double[])}.</p>
+     * @param array doubles array
+     * @param low first index to sort
+     * @param high last index to sort, inclusive
+     */
+    public void quickSort(double[] array, int low, int high) {
+        if (low >= high) {
+            return;
+        }
+        int pivotIndex = partition(array, low, high);
+        quickSort(array, low, pivotIndex - 1);
+        quickSort(array, pivotIndex + 1, high);
+    }
+
+    private int partition(double[] array, int low, int high) {
+        double pivot = array[high];
+        int i = low - 1;
+        for (int j = low; j < high; j++) {
+            if (Double.compare(array[j], pivot) < 0) {
+                i++;
+                double temp = array[i];
+                array[i] = array[j];
+                array[j] = temp;
+            }
+        }
+        double temp = array[i + 1];
+        array[i + 1] = array[high];
+        array[high] = temp;
+        return i + 1;
+    }
+
 
 }
@@ -0,0 +1,66 @@
+package org.notations.linearithmic;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * <h1> Sort Key </h1>
+ * <p> One primitive key column of a table, for {@link ArgSort}.</p>
+ * <p> Every value is turned into a long whose unsigned order is the order of the column:
+ * ints and longs by their signed value, doubles by {@link Double#compare}
+ * (-0.0 before 0.0, NaN last). The radix sort only ever compares these longs,
+ * so no value is boxed and no comparator is called.</p>
+ */
+public final class SortKey {
+
+    private final IntToLongFunction key;
+    private final int rows;
+
+    private SortKey(IntToLongFunction key, int rows) {
+        this.key = key;
+        this.rows = rows;
+    }
+
+    /**
+     * @param column int key column, in ascending order
+     * @return sort key
+     */
+    public static SortKey of(int[] column) {
+        // Flipping the sign bit turns signed order into unsigned order, the upper 32 bits stay 0.
+        return new SortKey(row -> (column[row] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL, column.length);
+    }
+
+    /**
+     * @param column long key column, in ascending order
+     * @return sort key
+     */
+    public static SortKey of(long[] column) {
+        return new SortKey(row -> column[row] ^ Long.MIN_VALUE, column.length);
+    }
+
+    /**
+     * @param column double key column, in ascending order by {@link Double#compare}
+     * @return sort key
+     */
+    public static SortKey of(double[] column) {
+        return new SortKey(row -> {
+            long bits = Double.doubleToLongBits(column[row]);
+            // Negative doubles: flip every bit, their order is reversed. Others: flip the sign bit only.
+            return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }, column.length);
+    }
+
+    /**
+     * @return the same column in descending order
+     */
+    public SortKey descending() {
+        return new SortKey(row -> ~key.applyAsLong(row), rows);
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    long key(int row) {
+        return key.applyAsLong(row);
+    }
+}
@@ -1,5 +1,12 @@
 package org.notations.logarithmic;
 
+import org.notations.linear.ArrayOps;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
 /**
  * <h1> Logarithmic Time: O(log n) </h1>
  *
@@ -13,6 +20,11 @@ package org.notations.logarithmic;
  */
 public class LogarithmicTime {
 
+    // Number of values every parallel worker reduces in gcd(long[]).
+    private static final int GCD_CHUNK_SIZE = 1 << 14;
+
+    private final ArrayOps arrayOps = new ArrayOps();
+
     /**
      * <h2> Binary Search </h2>
      * <p> is a commonly used algorithm in computer science and mathematics for
@@ -43,6 +55,108 @@ public class LogarithmicTime {
         return -1; // Key not found.
     }
 
+    /**
+     * <h2> Binary Search - IntBuffer </h2>
+     * <p> Same as {@link #binarySearch(int[], int)}, for sorted ints outside the heap,
+     * such as a memory-mapped columnar file. Only the O(log n) pages on the search path are read.</p>
+     * @param sortedBuffer ints sorted buffer, searched from index 0 to limit
+     * @param key to search
+     * @return index of the key if was found, otherwise returns -1
+     */
+    public int binarySearch(IntBuffer sortedBuffer, int key) {
+        int left = 0;
+        int right = sortedBuffer.limit() - 1;
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            int value = sortedBuffer.get(mid);
+            if (value == key) {
+                return mid;
+            }
+            if (value < key) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <h2> Binary Search - long </h2>
+     * @param sortedArray longs sorted array
+     * @param key to search
+     * @return index of the key if was found, otherwise returns -1
+     */
+    public int binarySearch(long[] sortedArray, long key) {
+        int left = 0;
+        int right = sortedArray.length - 1;
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            if (sortedArray[mid] == key) {
+                return mid;
+            }
+            if (sortedArray[mid] < key) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <h2> Binary Search - double </h2>
+     * <p> The array must be sorted by {@link Double#compare} (as the double sorts and
+     * {@link Arrays#sort(double[])} do), and the key is compared the same way:
+     * NaN can be found at the end, and -0.0 and 0.0 are different keys.</p>
+     * @param sortedArray doubles sorted array
+     * @param key to search
+     * @return index of the key if was found, otherwise returns -1
+     */
+    public int binarySearch(double[] sortedArray, double key) {
+        int left = 0;
+        int right = sortedArray.length - 1;
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            int comparison = Double.compare(sortedArray[mid], key);
+            if (comparison == 0) {
+                return mid;
+            }
+            if (comparison < 0) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * <h2> Binary Search - By Key </h2>
+     * <p> Searches objects sorted by a long key, extracting the key of the O(log n) visited objects only.</p>
+     * @param sortedArray objects sorted by key
+     * @param key extracts the sort key of an object
+     * @param target key to search
+     * @return index of an object with the target key if was found, otherwise returns -1
+     */
+    public <T> int binarySearchByLongKey(T[] sortedArray, ToLongFunction<? super T> key, long target) {
+        int left = 0;
+        int right = sortedArray.length - 1;
+        while (left <= right) {
+            int mid = left + (right - left) / 2;
+            long value = key.applyAsLong(sortedArray[mid]);
+            if (value == target) {
+                return mid;
+            }
+            if (value < target) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+
 
     /**
      * <h2> findGCD - Finding the Greatest Common Divisor (GCD) using Euclidean Algorithm </h2>
@@ -76,6 +190,195 @@ public class LogarithmicTime {
         return findGCD(b, a % b);
     }
 
+    /**
+     * <h2> binaryGCD - Finding the GCD using Stein's (Binary) Algorithm </h2>
+     * <p> Stein's algorithm finds the same GCD as the Euclidean algorithm,
+     * but replaces the slow division (%) with shifts and subtractions,
+     * and runs in a loop instead of recursion.
+     * It takes O(log n) iterations, where n is the larger input.</p>
+     * <p>
+     *<h3> How Stein's Algorithm works </h3>
+     * <div> 1) gcd(a, 0) = a. </div>
+     * <div> 2) The power of two shared by a and b is the number of trailing zero bits of (a | b).
+     * It is set aside and multiplied back in at the end.</div>
+     * <div> 3) If one number is even and the other odd, the factor 2 is not shared, so it is removed
+     * (Long.numberOfTrailingZeros strips all factors of 2 in one step).</div>
+     * <div> 4) If both are odd, gcd(a, b) = gcd(min, max - min), and max - min is even,
+     * so the next step shrinks it again.</div>
+     * </p>
+     * <p> The magnitudes are handled as unsigned values, so Long.MIN_VALUE is accepted.</p>
+     * @param a long 1
+     * @param b long 2
+     * @return greatest common divisor, never negative
+     * @throws ArithmeticException if the GCD is 2^63, which does not fit in a long
+     */
+    public long binaryGCD(long a, long b) {
+        return checkedGCD(unsignedGCD(magnitude(a), magnitude(b)));
+    }
+
+    // Magnitude as an unsigned value: -Long.MIN_VALUE is Long.MIN_VALUE, which is 2^63 unsigned.
+    private long magnitude(long value) {
+        return value < 0 ? -value : value;
+    }
+
+    // Stein's algorithm on unsigned magnitudes, the result is 2^63 (Long.MIN_VALUE) for gcd(2^63, 0).
+    private long unsignedGCD(long u, long v) {
+        if (u == 0 || v == 0) {
+            return u | v;
+        }
+        // Power of two shared by both numbers.
+        int shift = Long.numberOfTrailingZeros(u | v);
+        u >>>= Long.numberOfTrailingZeros(u);
+        do {
+            v >>>= Long.numberOfTrailingZeros(v);
+            // Both are odd now, keep u as the smaller one.
+            if (Long.compareUnsigned(u, v) > 0) {
+                long temp = u;
+                u = v;
+                v = temp;
+            }
+            v -= u;
+        } while (v != 0);
+        return u << shift;
+    }
+
+    private long checkedGCD(long gcd) {
+        if (gcd < 0) {
+            throw new ArithmeticException("GCD is 2^63 and overflows a long");
+        }
+        return gcd;
+    }
+
+    /**
+     * <h2> extendedGCD - Extended Euclidean Algorithm </h2>
+     * <p> Besides the GCD, finds the Bezout coefficients x and y such that a * x + b * y = gcd(a, b).
+     * It follows the same O(log n) steps as findGCD, in a loop,
+     * and keeps track of how every remainder is written in terms of a and b.</p>
+     * @param a long 1
+     * @param b long 2
+     * @return array {gcd, x, y} where gcd is not negative
+     * @throws ArithmeticException if a or b is Long.MIN_VALUE: its quotients and coefficients can overflow a long
+     */
+    public long[] extendedGCD(long a, long b) {
+        if (a == Long.MIN_VALUE || b == Long.MIN_VALUE) {
+            throw new ArithmeticException("extendedGCD does not accept Long.MIN_VALUE");
+        }
+        long oldR = a, r = b;
+        long oldX = 1, x = 0;
+        long oldY = 0, y = 1;
+        while (r != 0) {
+            long quotient = oldR / r;
+            long temp = oldR - quotient * r;
+            oldR = r;
+            r = temp;
+            temp = oldX - quotient * x;
+            oldX = x;
+            x = temp;
+            temp = oldY - quotient * y;
+            oldY = y;
+            y = temp;
+        }
+        if (oldR < 0) {
+            // Keep the GCD positive, flipping the signs of the coefficients with it.
+            return new long[]{Math.negateExact(oldR), -oldX, -oldY};
+        }
+        return new long[]{oldR, oldX, oldY};
+    }
+
+    /**
+     * <h2> modInverse - Modular Inverse </h2>
+     * <p> The inverse of a modulo m is the x from extendedGCD(a, m), since a * x + m * y = 1
+     * means a * x = 1 (mod m). It only exists when gcd(a, m) = 1.</p>
+     * @param a value to invert
+     * @param modulus positive modulus
+     * @return x in [0, modulus) such that a * x = 1 (mod modulus)
+     * @throws ArithmeticException if a has no inverse modulo modulus
+     */
+    public long modInverse(long a, long modulus) {
+        if (modulus <= 0) {
+            throw new ArithmeticException("Modulus must be positive: " + modulus);
+        }
+        long[] result = extendedGCD(Math.floorMod(a, modulus), modulus);
+        if (result[0] != 1) {
+            throw new ArithmeticException(a + " has no inverse modulo " + modulus);
+        }
+        return Math.floorMod(result[1], modulus);
+    }
+
+    /**
+     * <h2> gcd - GCD of an Array </h2>
+     * <p> Reduces the array with binaryGCD. Chunks of the array are reduced in parallel,
+     * and every chunk stops early once its GCD reaches 1, since it cannot get any smaller.</p>
+     * @param values longs array
+     * @return GCD of all values, 0 for an empty array or an array of zeros
+     * @throws ArithmeticException if the GCD is 2^63, which does not fit in a long
+     */
+    public long gcd(long[] values) {
+        int chunks = (values.length + GCD_CHUNK_SIZE - 1) / GCD_CHUNK_SIZE;
+        long result = IntStream.range(0, chunks).parallel()
+                .mapToLong(chunk -> {
+                    long gcd = 0;
+                    int end = Math.min(values.length, (chunk + 1) * GCD_CHUNK_SIZE);
+                    for (int i = chunk * GCD_CHUNK_SIZE; i < end && gcd != 1; i++) {
+                        gcd = unsignedGCD(gcd, magnitude(values[i]));
+                    }
+                    return gcd;
+                })
+                .reduce(0, this::unsignedGCD);
+        // Only the final GCD has to fit: gcd(Long.MIN_VALUE, 3) is 1 even though the first partial result is 2^63.
+        return checkedGCD(result);
+    }
+
+    /**
+     * <h2> lcm - LCM of an Array </h2>
+     * <p> lcm(a, b) = |a / gcd(a, b) * b|, reduced over the array in parallel.</p>
+     * @param values longs array
+     * @return least common multiple of all values, 1 for an empty array, 0 if any value is 0
+     * @throws ArithmeticException if the LCM overflows a long
+     */
+    public long lcm(long[] values) {
+        return Arrays.stream(values).parallel().reduce(1, this::lcm);
+    }
+
+    private long lcm(long a, long b) {
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        long gcd = binaryGCD(a, b);
+        return Math.absExact(Math.multiplyExact(a / gcd, b));
+    }
+
+    /**
+     * <h2> reduceFractions - Normalizing Rational Numbers </h2>
+     * <p> Divides every numerators[i] / denominators[i] by its GCD, in place and in parallel,
+     * and moves the sign to the numerator so the denominator is positive.</p>
+     * @param numerators longs array
+     * @param denominators longs array of the same length, no zeros
+     * @throws ArithmeticException if a denominator is 0
+     */
+    public void reduceFractions(long[] numerators, long[] denominators) {
+        if (numerators.length != denominators.length) {
+            throw new IllegalArgumentException("Expected arrays of the same length, got "
+                    + numerators.length + " and " + denominators.length);
+        }
+        IntStream.range(0, numerators.length).parallel().forEach(i -> {
+            long numerator = numerators[i];
+            long denominator = denominators[i];
+            if (denominator == 0) {
+                throw new ArithmeticException("Zero denominator at index " + i);
+            }
+            long gcd = binaryGCD(numerator, denominator);
+            numerator /= gcd;
+            denominator /= gcd;
+            if (denominator < 0) {
+                numerator = Math.negateExact(numerator);
+                denominator = Math.negateExact(denominator);
+            }
+            numerators[i] = numerator;
+            denominators[i] = denominator;
+        });
+    }
+
     /**
      * <h2> mergeSort - Divide and Conquer Algorithms </h2>
      * <p>Merge Sort's time complexity is O(n log n) in all cases,
@@ -119,17 +422,9 @@ public class LogarithmicTime {
         int n1 = mid - left + 1;
         int n2 = right - mid;
 
-        // Create temporary arrays to hold the two subarrays.
-        int[] leftArray = new int[n1];
-        int[] rightArray = new int[n2];
-
-        // Copy data to the temporary arrays.
-        for (int i = 0; i < n1; i++) {
-            leftArray[i] = array[left + i];
-        }
-        for (int j = 0; j < n2; j++) {
-            rightArray[j] = array[mid + 1 + j];
-        }
+        // Create temporary arrays holding copies of the two subarrays.
+        int[] leftArray = arrayOps.slice(array, left, mid + 1);
+        int[] rightArray = arrayOps.slice(array, mid + 1, right + 1);
 
         // Merge the two subarrays back into the original array.
         int i = 0, j = 0;
@@ -147,16 +442,80 @@ public class LogarithmicTime {
         }
 
         // Copy any remaining elements from the left and right subarrays, if any.
-        while (i < n1) {
-            array[k] = leftArray[i];
-            i++;
-            k++;
+        arrayOps.copy(leftArray, i, array, k, n1 - i);
+        k += n1 - i;
+        arrayOps.copy(rightArray, j, array, k, n2 - j);
+    }
+
+    /**
+     * <h2> mergeSort - long </h2>
+     * @param array longs array
+     * @param left first index to sort
+     * @param right last index to sort, inclusive
+     */
+    public void mergeSort(long[] array, int left, int right) {
+        if (left < right) {
+            int mid = left + (right - left) / 2;
+            mergeSort(array, left, mid);
+            mergeSort(array, mid + 1, right);
+            merge(array, left, mid, right);
         }
-        while (j < n2) {
-            array[k] = rightArray[j];
-            j++;
-            k++;
+    }
+
+    private void merge(long[] array, int left, int mid, int right) {
+        int n1 = mid - left + 1;
+        int n2 = right - mid;
+        long[] leftArray = arrayOps.slice(array, left, mid + 1);
+        long[] rightArray = arrayOps.slice(array, mid + 1, right + 1);
+
+        int i = 0, j = 0;
+        int k = left;
+        while (i < n1 && j < n2) {
+            if (leftArray[i] <= rightArray[j]) {
+                array[k++] = leftArray[i++];
+            } else {
+                array[k++] = rightArray[j++];
+            }
+        }
+        arrayOps.copy(leftArray, i, array, k, n1 - i);
+        k += n1 - i;
+        arrayOps.copy(rightArray, j, array, k, n2 - j);
+    }
+
+    /**
+     * <h2> mergeSort - double </h2>
+     * <p> Orders the values by {@link Double#compare}: -0.0 before 0.0, and NaN after every other value.</p>
+     * @param array doubles array
+     * @param left first index to sort
+     * @param right last index to sort, inclusive
+     */
+    public void mergeSort(double[] array, int left, int right) {
+        if (left < right) {
+            int mid = left + (right - left) / 2;
+            mergeSort(array, left, mid);
+            mergeSort(array, mid + 1, right);
+            merge(array, left, mid, right);
+        }
+    }
+
+    private void merge(double[] array, int left, int mid, int right) {
+        int n1 = mid - left + 1;
+        int n2 = right - mid;
+        double[] leftArray = arrayOps.slice(array, left, mid + 1);
+        double[] rightArray = arrayOps.slice(array, mid + 1, right + 1);
+
+        int i = 0, j = 0;
+        int k = left;
+        while (i < n1 && j < n2) {
+            if (Double.compare(leftArray[i], rightArray[j]) <= 0) {
+                array[k++] = leftArray[i++];
+            } else {
+                array[k++] = rightArray[j++];
+            }
         }
+        arrayOps.copy(leftArray, i, array, k, n1 - i);
+        k += n1 - i;
+        arrayOps.copy(rightArray, j, array, k, n2 - j);
     }
 
     /**
@@ -0,0 +1,142 @@
+package org.notations.polynomial;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * <h1> Compressed Sparse Column (CSC) Matrix </h1>
+ * <p> The column-major twin of {@link CsrMatrix}: it stores only the non-zero elements, column by column.
+ * The non-zeros of column j are at k in [columnPointers[j], columnPointers[j + 1]),
+ * with rowIndexes[k] increasing within each column.</p>
+ * <p> CSC is the natural layout for the right-hand side of a product,
+ * where every element of the result is a row of the left matrix times a column of this one.
+ * Dense x sparse costs O(n * nnz) instead of O(n * m * p).</p>
+ */
+public class CscMatrix {
+
+    private final int rows;
+    private final int columns;
+    private final int[] columnPointers;
+    private final int[] rowIndexes;
+    private final int[] values;
+
+    /**
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param columnPointers columns + 1 offsets into rowIndexes and values
+     * @param rowIndexes row of every non-zero, increasing within each column
+     * @param values non-zero elements
+     */
+    public CscMatrix(int rows, int columns, int[] columnPointers, int[] rowIndexes, int[] values) {
+        if (rows < 0 || columns < 0 || columnPointers.length != columns + 1
+                || rowIndexes.length != values.length || columnPointers[columns] != values.length) {
+            throw new IllegalArgumentException("Inconsistent CSC arrays for a " + rows + "x" + columns + " matrix");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.columnPointers = columnPointers;
+        this.rowIndexes = rowIndexes;
+        this.values = values;
+    }
+
+    /**
+     * <h2> fromDense </h2>
+     * @param matrix dense matrix
+     * @return CSC matrix with the non-zero elements of matrix
+     */
+    public static CscMatrix fromDense(int[][] matrix) {
+        return CsrMatrix.fromDense(matrix).toCsc();
+    }
+
+    /**
+     * <h2> leftMultiply - Dense x Sparse </h2>
+     * <p> result[i][j] is row i of dense times column j of this matrix,
+     * which only visits the non-zeros of column j. Rows of the result are computed in parallel.</p>
+     * @param dense matrix with this.rows columns
+     * @return dense product of dense and this matrix
+     */
+    public int[][] leftMultiply(int[][] dense) {
+        int n = dense.length;
+        if (n > 0 && dense[0].length != rows) {
+            throw new IllegalArgumentException("Cannot multiply a matrix with " + dense[0].length
+                    + " columns by a " + rows + "x" + columns + " matrix");
+        }
+        int[][] result = new int[n][columns];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int[] denseRow = dense[i];
+            int[] resultRow = result[i];
+            for (int j = 0; j < columns; j++) {
+                int sum = 0;
+                for (int k = columnPointers[j]; k < columnPointers[j + 1]; k++) {
+                    sum += denseRow[rowIndexes[k]] * values[k];
+                }
+                resultRow[j] = sum;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <h2> toCsr - Convert to Compressed Sparse Row </h2>
+     * <p> A counting sort of the non-zeros by row, O(rows + columns + nnz).</p>
+     * @return the same matrix in CSR layout
+     */
+    public CsrMatrix toCsr() {
+        int[] rowPointers = new int[rows + 1];
+        for (int row : rowIndexes) {
+            rowPointers[row + 1]++;
+        }
+        for (int i = 0; i < rows; i++) {
+            rowPointers[i + 1] += rowPointers[i];
+        }
+        int[] next = Arrays.copyOf(rowPointers, rows);
+        int[] columnIndexes = new int[values.length];
+        int[] csrValues = new int[values.length];
+        for (int j = 0; j < columns; j++) {
+            for (int k = columnPointers[j]; k < columnPointers[j + 1]; k++) {
+                int position = next[rowIndexes[k]]++;
+                columnIndexes[position] = j;
+                csrValues[position] = values[k];
+            }
+        }
+        return new CsrMatrix(rows, columns, rowPointers, columnIndexes, csrValues);
+    }
+
+    /**
+     * <h2> get </h2>
+     * <p> Binary search for the row within the column, O(log nnz of the column).</p>
+     * @param row row index
+     * @param column column index
+     * @return element at (row, column)
+     */
+    public int get(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + column + ") out of bounds for a "
+                    + rows + "x" + columns + " matrix");
+        }
+        int k = Arrays.binarySearch(rowIndexes, columnPointers[column], columnPointers[column + 1], row);
+        return k >= 0 ? values[k] : 0;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * @return number of stored non-zero elements
+     */
+    public int nonZeros() {
+        return values.length;
+    }
+
+    /**
+     * @return fraction of the elements that are stored, between 0 and 1
+     */
+    public double density() {
+        return rows == 0 || columns == 0 ? 0 : (double) values.length / ((double) rows * columns);
+    }
+}
@@ -0,0 +1,360 @@
+package org.notations.polynomial;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * <h1> Compressed Sparse Row (CSR) Matrix </h1>
+ * <p> A matrix that stores only its non-zero elements, row by row.
+ * For a matrix with nnz non-zero elements it uses O(rows + nnz) memory instead of O(rows * cols),
+ * so a 10^6 x 10^6 matrix with 10^7 non-zeros takes about 120 MB instead of 4 TB.</p>
+ * <p> <h3> Layout </h3>
+ * <div> - values[k] is the k-th non-zero element, in row-major order.</div>
+ * <div> - columnIndexes[k] is the column of values[k]. Within a row the columns are increasing.</div>
+ * <div> - The non-zeros of row i are at k in [rowPointers[i], rowPointers[i + 1]).</div>
+ * </p>
+ * <p> Multiplication only visits non-zero elements. Sparse x dense costs O(nnz * p)
+ * instead of the O(n * m * p) of {@link PolynomialTime#matrixMultiplication(int[][], int[][])},
+ * and rows of the result are computed in parallel.
+ * Like the dense version, products are computed in int arithmetic.</p>
+ */
+public class CsrMatrix {
+
+    // Row chunks per worker thread in the sparse product, each chunk allocates one accumulator.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int rows;
+    private final int columns;
+    private final int[] rowPointers;
+    private final int[] columnIndexes;
+    private final int[] values;
+
+    /**
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param rowPointers rows + 1 offsets into columnIndexes and values
+     * @param columnIndexes column of every non-zero, increasing within each row
+     * @param values non-zero elements
+     */
+    public CsrMatrix(int rows, int columns, int[] rowPointers, int[] columnIndexes, int[] values) {
+        if (rows < 0 || columns < 0 || rowPointers.length != rows + 1
+                || columnIndexes.length != values.length || rowPointers[rows] != values.length) {
+            throw new IllegalArgumentException("Inconsistent CSR arrays for a " + rows + "x" + columns + " matrix");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.rowPointers = rowPointers;
+        this.columnIndexes = columnIndexes;
+        this.values = values;
+    }
+
+    /**
+     * <h2> fromDense </h2>
+     * @param matrix dense matrix
+     * @return CSR matrix with the non-zero elements of matrix
+     */
+    public static CsrMatrix fromDense(int[][] matrix) {
+        int rows = matrix.length;
+        int columns = rows == 0 ? 0 : matrix[0].length;
+        int[] rowPointers = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (int element : matrix[i]) {
+                if (element != 0) {
+                    count++;
+                }
+            }
+            rowPointers[i + 1] = rowPointers[i] + count;
+        }
+        int[] columnIndexes = new int[rowPointers[rows]];
+        int[] values = new int[rowPointers[rows]];
+        for (int i = 0; i < rows; i++) {
+            int k = rowPointers[i];
+            for (int j = 0; j < columns; j++) {
+                if (matrix[i][j] != 0) {
+                    columnIndexes[k] = j;
+                    values[k] = matrix[i][j];
+                    k++;
+                }
+            }
+        }
+        return new CsrMatrix(rows, columns, rowPointers, columnIndexes, values);
+    }
+
+    /**
+     * <h2> fromCoordinates </h2>
+     * <p> Builds a matrix from (row, column, value) triples in any order, without a dense copy.
+     * The triples are bucketed by column and then by row (two counting sorts, O(rows + columns + nnz)),
+     * and duplicate coordinates are summed.</p>
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param rowIndexes row of every triple
+     * @param columnIndexes column of every triple
+     * @param values value of every triple
+     * @return CSR matrix
+     */
+    public static CsrMatrix fromCoordinates(int rows, int columns, int[] rowIndexes, int[] columnIndexes, int[] values) {
+        int count = values.length;
+        if (rowIndexes.length != count || columnIndexes.length != count) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length");
+        }
+        for (int k = 0; k < count; k++) {
+            if (rowIndexes[k] < 0 || rowIndexes[k] >= rows || columnIndexes[k] < 0 || columnIndexes[k] >= columns) {
+                throw new IndexOutOfBoundsException("(" + rowIndexes[k] + ", " + columnIndexes[k]
+                        + ") out of bounds for a " + rows + "x" + columns + " matrix");
+            }
+        }
+        // Counting sort by column, then a stable counting sort by row, gives row-major order.
+        int[] byColumn = bucket(columnIndexes, columns, identity(count));
+        int[] order = bucket(rowIndexes, rows, byColumn);
+
+        int[] rowPointers = new int[rows + 1];
+        int[] outColumns = new int[count];
+        int[] outValues = new int[count];
+        int size = 0;
+        int previousRow = -1;
+        int previousColumn = -1;
+        for (int k : order) {
+            int row = rowIndexes[k];
+            int column = columnIndexes[k];
+            if (row == previousRow && column == previousColumn) {
+                outValues[size - 1] += values[k]; // Duplicate coordinate, sum it.
+            } else {
+                outColumns[size] = column;
+                outValues[size] = values[k];
+                size++;
+                previousRow = row;
+                previousColumn = column;
+            }
+            rowPointers[row + 1] = size;
+        }
+        // Rows without elements start where the previous row ended.
+        for (int i = 1; i <= rows; i++) {
+            rowPointers[i] = Math.max(rowPointers[i], rowPointers[i - 1]);
+        }
+        return new CsrMatrix(rows, columns, rowPointers,
+                Arrays.copyOf(outColumns, size), Arrays.copyOf(outValues, size));
+    }
+
+    /**
+     * <h2> multiply - Sparse x Dense </h2>
+     * <p> For every non-zero A[i][k], adds A[i][k] * B[k][j] to result[i][j] for all j.
+     * Zero elements of A are never visited, and the rows of the result are computed in parallel.</p>
+     * @param dense matrix with this.columns rows
+     * @return dense product of this matrix and dense
+     */
+    public int[][] multiply(int[][] dense) {
+        if (dense.length != columns) {
+            throw new IllegalArgumentException("Cannot multiply a " + rows + "x" + columns
+                    + " matrix by a matrix with " + dense.length + " rows");
+        }
+        int p = columns == 0 ? 0 : dense[0].length;
+        int[][] result = new int[rows][p];
+        IntStream.range(0, rows).parallel().forEach(i -> {
+            int[] resultRow = result[i];
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int value = values[k];
+                int[] denseRow = dense[columnIndexes[k]];
+                for (int j = 0; j < p; j++) {
+                    resultRow[j] += value * denseRow[j];
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * <h2> multiply - Sparse x Sparse (Gustavson's Algorithm) </h2>
+     * <p> Row i of the result is the sum of the rows B[k] scaled by every non-zero A[i][k].
+     * The rows are split into a few chunks per worker thread, and every chunk accumulates its rows,
+     * one at a time, into its own dense accumulator of B.columns elements,
+     * remembering which columns it touched, so only the touched columns are read back and reset.
+     * The cost is proportional to the number of multiplications of non-zeros, not to the matrix size.</p>
+     * @param other sparse matrix with this.columns rows
+     * @return sparse product of this matrix and other
+     */
+    public CsrMatrix multiply(CsrMatrix other) {
+        if (other.rows != columns) {
+            throw new IllegalArgumentException("Cannot multiply a " + rows + "x" + columns
+                    + " matrix by a " + other.rows + "x" + other.columns + " matrix");
+        }
+        int[][] rowColumns = new int[rows][];
+        int[][] rowValues = new int[rows][];
+        int chunks = Math.min(rows, ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            // One accumulator per chunk, dropped with it once the chunk is done.
+            RowAccumulator accumulator = new RowAccumulator(other.columns);
+            int end = (int) ((long) rows * (chunk + 1) / chunks);
+            for (int i = (int) ((long) rows * chunk / chunks); i < end; i++) {
+                for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                    int value = values[k];
+                    int row = columnIndexes[k];
+                    for (int l = other.rowPointers[row]; l < other.rowPointers[row + 1]; l++) {
+                        accumulator.add(other.columnIndexes[l], value * other.values[l]);
+                    }
+                }
+                accumulator.drainTo(i, rowColumns, rowValues);
+            }
+        });
+
+        // Stitch the rows together.
+        int[] resultPointers = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            resultPointers[i + 1] = Math.addExact(resultPointers[i], rowColumns[i].length);
+        }
+        int[] resultColumns = new int[resultPointers[rows]];
+        int[] resultValues = new int[resultPointers[rows]];
+        IntStream.range(0, rows).parallel().forEach(i -> {
+            System.arraycopy(rowColumns[i], 0, resultColumns, resultPointers[i], rowColumns[i].length);
+            System.arraycopy(rowValues[i], 0, resultValues, resultPointers[i], rowValues[i].length);
+        });
+        return new CsrMatrix(rows, other.columns, resultPointers, resultColumns, resultValues);
+    }
+
+    /**
+     * <h2> toCsc - Convert to Compressed Sparse Column </h2>
+     * <p> A counting sort of the non-zeros by column, O(rows + columns + nnz).</p>
+     * @return the same matrix in CSC layout
+     */
+    public CscMatrix toCsc() {
+        int[] columnPointers = new int[columns + 1];
+        for (int column : columnIndexes) {
+            columnPointers[column + 1]++;
+        }
+        for (int j = 0; j < columns; j++) {
+            columnPointers[j + 1] += columnPointers[j];
+        }
+        int[] next = Arrays.copyOf(columnPointers, columns);
+        int[] rowIndexes = new int[values.length];
+        int[] cscValues = new int[values.length];
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                int position = next[columnIndexes[k]]++;
+                rowIndexes[position] = i;
+                cscValues[position] = values[k];
+            }
+        }
+        return new CscMatrix(rows, columns, columnPointers, rowIndexes, cscValues);
+    }
+
+    /**
+     * <h2> toDense </h2>
+     * @return dense copy of this matrix
+     */
+    public int[][] toDense() {
+        int[][] result = new int[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int k = rowPointers[i]; k < rowPointers[i + 1]; k++) {
+                result[i][columnIndexes[k]] = values[k];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * <h2> get </h2>
+     * <p> Binary search for the column within the row, O(log nnz of the row).</p>
+     * @param row row index
+     * @param column column index
+     * @return element at (row, column)
+     */
+    public int get(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("(" + row + ", " + column + ") out of bounds for a "
+                    + rows + "x" + columns + " matrix");
+        }
+        int k = Arrays.binarySearch(columnIndexes, rowPointers[row], rowPointers[row + 1], column);
+        return k >= 0 ? values[k] : 0;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    /**
+     * @return number of stored non-zero elements
+     */
+    public int nonZeros() {
+        return values.length;
+    }
+
+    /**
+     * @return fraction of the elements that are stored, between 0 and 1
+     */
+    public double density() {
+        return rows == 0 || columns == 0 ? 0 : (double) values.length / ((double) rows * columns);
+    }
+
+    private static int[] identity(int length) {
+        int[] result = new int[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    // Stable counting sort of the positions in order by keys[position], keys in [0, range).
+    private static int[] bucket(int[] keys, int range, int[] order) {
+        int[] starts = new int[range + 1];
+        for (int position : order) {
+            starts[keys[position] + 1]++;
+        }
+        for (int key = 0; key < range; key++) {
+            starts[key + 1] += starts[key];
+        }
+        int[] result = new int[order.length];
+        for (int position : order) {
+            result[starts[keys[position]]++] = position;
+        }
+        return result;
+    }
+
+    // Dense accumulator for one result row, reused by one worker thread across rows.
+    private static final class RowAccumulator {
+        private final int[] sums;
+        private final boolean[] touched;
+        private int[] touchedColumns = new int[16];
+        private int touchedCount;
+
+        RowAccumulator(int columns) {
+            this.sums = new int[columns];
+            this.touched = new boolean[columns];
+        }
+
+        void add(int column, int value) {
+            if (!touched[column]) {
+                touched[column] = true;
+                if (touchedCount == touchedColumns.length) {
+                    touchedColumns = Arrays.copyOf(touchedColumns, touchedCount * 2);
+                }
+                touchedColumns[touchedCount++] = column;
+            }
+            sums[column] += value;
+        }
+
+        void drainTo(int row, int[][] rowColumns, int[][] rowValues) {
+            Arrays.sort(touchedColumns, 0, touchedCount);
+            int size = 0;
+            int[] columns = new int[touchedCount];
+            int[] values = new int[touchedCount];
+            for (int t = 0; t < touchedCount; t++) {
+                int column = touchedColumns[t];
+                if (sums[column] != 0) {
+                    columns[size] = column;
+                    values[size] = sums[column];
+                    size++;
+                }
+                sums[column] = 0;
+                touched[column] = false;
+            }
+            touchedCount = 0;
+            rowColumns[row] = size == columns.length ? columns : Arrays.copyOf(columns, size);
+            rowValues[row] = size == values.length ? values : Arrays.copyOf(values, size);
+        }
+    }
+}
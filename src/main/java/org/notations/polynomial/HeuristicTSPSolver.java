@@ -0,0 +1,549 @@
+package org.notations.polynomial;
+
+import org.notations.factorial.TSPSolution;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * <h1> Heuristic TSP Solver: polynomial time, approximate </h1>
+ * <p> The exact solvers in {@code ExponentialTime} and {@code FactorialTime} explore every tour,
+ * which is hopeless beyond a dozen or so cities. This solver gives up the guarantee of the optimal tour
+ * in exchange for polynomial running time, and usually lands within a few percent of the optimum.</p>
+ * <p> <h3> How it works </h3>
+ * <div> 1) Construction, O(n^2): a first tour is built either by nearest neighbour
+ * (always go to the closest unvisited city) or greedily (add the shortest edges that keep
+ * every city at degree 2 or less and close no early cycle, then join the fragments).</div>
+ * <div> 2) Local search: the tour is improved by moves that each make it shorter,
+ * until no move helps:
+ * 2-opt removes two edges and reconnects the tour by reversing the segment between them;
+ * Or-opt moves a segment of 1 to 3 cities to another place in the tour.
+ * Only moves that connect a city to one of its k nearest neighbours are tried,
+ * so a full pass costs O(n * k) checks instead of O(n^2).</div>
+ * <div> 3) Multi-start: several starts from different cities run in parallel on a fork-join pool,
+ * and the best tour is kept.</div>
+ * </p>
+ * <p> The search stops at a wall-clock budget. When the budget runs out, the best tour found so far
+ * is returned, so the caller always gets a valid tour.</p>
+ * <p> 2-opt and Or-opt reverse segments of the tour, which assumes symmetric distances
+ * (graph[i][j] == graph[j][i]). The returned cost is always computed from the directed distances.</p>
+ */
+public class HeuristicTSPSolver {
+
+    /**
+     * How the first tour of a start is built.
+     */
+    public enum Construction {
+        NEAREST_NEIGHBOUR,
+        GREEDY
+    }
+
+    private static final int DEFAULT_NEIGHBOURS = 10;
+    private static final int MAX_SEGMENT = 3;
+
+    private final Duration timeBudget;
+    private final int maxStarts;
+    private final int neighbours;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param timeBudget wall-clock time after which the best tour so far is returned
+     */
+    public HeuristicTSPSolver(Duration timeBudget) {
+        this(timeBudget, ForkJoinPool.commonPool().getParallelism() * 4, DEFAULT_NEIGHBOURS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param timeBudget wall-clock time after which the best tour so far is returned
+     * @param maxStarts max number of starts, the search also stops when all of them converged
+     * @param neighbours size of the neighbour list of every city
+     * @param pool fork-join pool that runs the starts
+     */
+    public HeuristicTSPSolver(Duration timeBudget, int maxStarts, int neighbours, ForkJoinPool pool) {
+        if (maxStarts < 1 || neighbours < 1) {
+            throw new IllegalArgumentException("maxStarts and neighbours must be positive");
+        }
+        this.timeBudget = timeBudget;
+        this.maxStarts = maxStarts;
+        this.neighbours = neighbours;
+        this.pool = pool;
+    }
+
+    /**
+     * <h2> solve </h2>
+     * <p> Start 0 is built greedily, the other starts by nearest neighbour from distinct cities
+     * in a shuffled order, so there are at most n + 1 starts.</p>
+     * @param graph 2D array representing the weighted graph of cities.
+     *              graph[i][j] contains the distance (or cost) from city i to city j.
+     * @return best tour found within the time budget, starting at city 0
+     */
+    public TSPSolution solve(int[][] graph) {
+        int n = graph.length;
+        if (n <= 3) {
+            // Every order is the same cycle (up to direction), there is nothing to search.
+            return bestDirection(graph, IntStream.range(0, n).toArray());
+        }
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        int[][] neighbourLists = buildNeighbourLists(graph, Math.min(neighbours, n - 1));
+        AtomicReference<TSPSolution> best = new AtomicReference<>();
+        AtomicInteger nextStart = new AtomicInteger();
+        // Nearest neighbour from the same city twice builds the same tour, so every start gets its own city.
+        int starts = Math.min(maxStarts, n + 1);
+        int[] startCities = shuffledCities(n);
+
+        int workers = Math.min(starts, pool.getParallelism());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    int start;
+                    while ((start = nextStart.getAndIncrement()) < starts) {
+                        // Start 0 always runs, so there is a tour even with a zero budget.
+                        if (start > 0 && System.nanoTime() >= deadline) {
+                            return;
+                        }
+                        int[] tour = start == 0
+                                ? construct(graph, neighbourLists, Construction.GREEDY, 0)
+                                : construct(graph, neighbourLists, Construction.NEAREST_NEIGHBOUR,
+                                startCities[start - 1]);
+                        new LocalSearch(graph, neighbourLists, tour, deadline).run();
+                        TSPSolution candidate = bestDirection(graph, tour);
+                        best.accumulateAndGet(candidate,
+                                (current, next) -> current == null || next.cost() < current.cost() ? next : current);
+                    }
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return best.get();
+    }
+
+    // 0..n-1 in a fixed pseudo-random order (Fisher-Yates), the same for every call.
+    private int[] shuffledCities(int n) {
+        int[] cities = IntStream.range(0, n).toArray();
+        Random random = new Random(n);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = cities[i];
+            cities[i] = cities[j];
+            cities[j] = temp;
+        }
+        return cities;
+    }
+
+    /**
+     * <h2> construct - First Tour </h2>
+     * @param graph distance matrix
+     * @param construction nearest neighbour or greedy
+     * @param startCity first city of a nearest neighbour tour
+     * @return tour visiting every city once
+     */
+    public int[] construct(int[][] graph, Construction construction, int startCity) {
+        if (graph.length <= 2) {
+            return IntStream.range(0, graph.length).toArray();
+        }
+        return construct(graph, buildNeighbourLists(graph, Math.min(neighbours, graph.length - 1)),
+                construction, startCity);
+    }
+
+    /**
+     * <h2> tourCost </h2>
+     * @param graph distance matrix
+     * @param tour order in which the cities are visited
+     * @return total cost of the cycle, including the edge back to the first city
+     */
+    public long tourCost(int[][] graph, int[] tour) {
+        long cost = 0;
+        for (int i = 0; i < tour.length; i++) {
+            cost += graph[tour[i]][tour[(i + 1) % tour.length]];
+        }
+        return cost;
+    }
+
+    private int[] construct(int[][] graph, int[][] neighbourLists, Construction construction, int startCity) {
+        return construction == Construction.GREEDY
+                ? greedy(graph, neighbourLists)
+                : nearestNeighbour(graph, startCity);
+    }
+
+    private int[] nearestNeighbour(int[][] graph, int startCity) {
+        int n = graph.length;
+        boolean[] visited = new boolean[n];
+        int[] tour = new int[n];
+        int current = startCity;
+        visited[current] = true;
+        tour[0] = current;
+        for (int i = 1; i < n; i++) {
+            int next = -1;
+            for (int city = 0; city < n; city++) {
+                if (!visited[city] && (next < 0 || graph[current][city] < graph[current][next])) {
+                    next = city;
+                }
+            }
+            visited[next] = true;
+            tour[i] = next;
+            current = next;
+        }
+        return tour;
+    }
+
+    private int[] greedy(int[][] graph, int[][] neighbourLists) {
+        int n = graph.length;
+        // Candidate edges from the neighbour lists, sorted by distance: (distance << 32) | edge number.
+        int k = neighbourLists[0].length;
+        long[] edges = new long[n * k];
+        for (int city = 0; city < n; city++) {
+            for (int j = 0; j < k; j++) {
+                int edge = city * k + j;
+                edges[edge] = ((long) graph[city][neighbourLists[city][j]] << 32) | edge;
+            }
+        }
+        Arrays.sort(edges);
+
+        int[] degree = new int[n];
+        int[][] adjacent = new int[n][2];
+        int[] fragment = new int[n];
+        for (int city = 0; city < n; city++) {
+            fragment[city] = city;
+        }
+        for (long key : edges) {
+            int edge = (int) key;
+            int a = edge / k;
+            int b = neighbourLists[a][edge % k];
+            if (degree[a] < 2 && degree[b] < 2 && find(fragment, a) != find(fragment, b)) {
+                adjacent[a][degree[a]++] = b;
+                adjacent[b][degree[b]++] = a;
+                fragment[find(fragment, a)] = find(fragment, b);
+            }
+        }
+
+        // Walk the fragments, joining the end of each one to the nearest unvisited fragment end.
+        boolean[] visited = new boolean[n];
+        int[] tour = new int[n];
+        int size = 0;
+        int current = firstEnd(degree, visited, graph, -1);
+        while (true) {
+            // Follow the fragment from one end to the other.
+            int previous = -1;
+            while (true) {
+                visited[current] = true;
+                tour[size++] = current;
+                int next = -1;
+                for (int d = 0; d < degree[current]; d++) {
+                    if (adjacent[current][d] != previous && !visited[adjacent[current][d]]) {
+                        next = adjacent[current][d];
+                    }
+                }
+                if (next < 0) {
+                    break;
+                }
+                previous = current;
+                current = next;
+            }
+            if (size == n) {
+                return tour;
+            }
+            current = firstEnd(degree, visited, graph, current);
+        }
+    }
+
+    // Nearest unvisited fragment end (a city with degree < 2) to from, or the first one if from is -1.
+    private int firstEnd(int[] degree, boolean[] visited, int[][] graph, int from) {
+        int best = -1;
+        for (int city = 0; city < degree.length; city++) {
+            if (!visited[city] && degree[city] < 2) {
+                if (from < 0) {
+                    return city;
+                }
+                if (best < 0 || graph[from][city] < graph[from][best]) {
+                    best = city;
+                }
+            }
+        }
+        return best;
+    }
+
+    private int find(int[] parent, int city) {
+        while (parent[city] != city) {
+            parent[city] = parent[parent[city]];
+            city = parent[city];
+        }
+        return city;
+    }
+
+    private int[][] buildNeighbourLists(int[][] graph, int k) {
+        int n = graph.length;
+        int[][] lists = new int[n][];
+        // A few ranges of cities per worker, every range fills its own lists.
+        int ranges = Math.min(n, pool.getParallelism() * 4);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(ranges);
+        for (int r = 0; r < ranges; r++) {
+            int from = (int) ((long) n * r / ranges);
+            int to = (int) ((long) n * (r + 1) / ranges);
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    for (int city = from; city < to; city++) {
+                        lists[city] = nearest(graph, city, k);
+                    }
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return lists;
+    }
+
+    // The k closest other cities, closest first, by insertion into a sorted array of size k.
+    private int[] nearest(int[][] graph, int city, int k) {
+        int[] result = new int[k];
+        int size = 0;
+        int[] distances = graph[city];
+        for (int other = 0; other < graph.length; other++) {
+            if (other == city || (size == k && distances[other] >= distances[result[k - 1]])) {
+                continue;
+            }
+            int i = size < k ? size++ : k - 1;
+            while (i > 0 && distances[result[i - 1]] > distances[other]) {
+                result[i] = result[i - 1];
+                i--;
+            }
+            result[i] = other;
+        }
+        return result;
+    }
+
+    // Rotates the tour to start at city 0 and picks the cheaper of its two directions.
+    private TSPSolution bestDirection(int[][] graph, int[] tour) {
+        int n = tour.length;
+        int start = 0;
+        while (start < n && tour[start] != 0) {
+            start++;
+        }
+        int[] forward = new int[n];
+        int[] backward = new int[n];
+        for (int i = 0; i < n; i++) {
+            forward[i] = tour[(start + i) % n];
+            backward[i] = tour[(start - i + n) % n];
+        }
+        long forwardCost = tourCost(graph, forward);
+        long backwardCost = tourCost(graph, backward);
+        return forwardCost <= backwardCost
+                ? new TSPSolution(forwardCost, forward)
+                : new TSPSolution(backwardCost, backward);
+    }
+
+    /**
+     * 2-opt and Or-opt over neighbour lists on one tour, until no move improves it or the deadline passes.
+     */
+    private static final class LocalSearch {
+        private final int[][] graph;
+        private final int[][] neighbourLists;
+        private final int[] tour;
+        private final int[] position;
+        private final int n;
+        private final long deadline;
+        private boolean expired;
+
+        LocalSearch(int[][] graph, int[][] neighbourLists, int[] tour, long deadline) {
+            this.graph = graph;
+            this.neighbourLists = neighbourLists;
+            this.tour = tour;
+            this.n = tour.length;
+            this.position = new int[n];
+            this.deadline = deadline;
+            for (int i = 0; i < n; i++) {
+                position[tour[i]] = i;
+            }
+        }
+
+        void run() {
+            boolean improved = true;
+            while (improved && !expired) {
+                improved = twoOptPass();
+                if (!expired) {
+                    improved |= orOptPass();
+                }
+            }
+        }
+
+        private boolean checkDeadline(int i) {
+            if ((i & 63) == 0 && System.nanoTime() >= deadline) {
+                expired = true;
+            }
+            return expired;
+        }
+
+        private long d(int a, int b) {
+            return graph[a][b];
+        }
+
+        private int next(int city) {
+            return tour[(position[city] + 1) % n];
+        }
+
+        private int previous(int city) {
+            return tour[(position[city] - 1 + n) % n];
+        }
+
+        private boolean twoOptPass() {
+            boolean improved = false;
+            for (int i = 0; i < n; i++) {
+                if (checkDeadline(i)) {
+                    return improved;
+                }
+                int a = tour[i];
+                // Successor side: ... a b ... c e ...  ->  ... a c ... b e ...
+                int b = next(a);
+                for (int c : neighbourLists[a]) {
+                    if (d(a, c) >= d(a, b)) {
+                        break; // Neighbours are sorted, no closer c left.
+                    }
+                    int e = next(c);
+                    if (c == b || e == a) {
+                        continue;
+                    }
+                    if (d(a, c) + d(b, e) < d(a, b) + d(c, e)) {
+                        reverse(position[b], position[c]);
+                        improved = true;
+                        b = next(a);
+                    }
+                }
+                // Predecessor side: ... p a ... q c ...  ->  ... p q ... a c ...
+                int p = previous(a);
+                for (int c : neighbourLists[a]) {
+                    if (d(c, a) >= d(p, a)) {
+                        break;
+                    }
+                    int q = previous(c);
+                    if (c == p || q == a) {
+                        continue;
+                    }
+                    if (d(p, q) + d(a, c) < d(p, a) + d(q, c)) {
+                        reverse(position[a], position[q]);
+                        improved = true;
+                        p = previous(a);
+                    }
+                }
+            }
+            return improved;
+        }
+
+        // Reverses the cyclic segment from position i forward to position j, or its shorter complement.
+        private void reverse(int i, int j) {
+            int length = ((j - i + n) % n) + 1;
+            if (2 * length > n) {
+                int start = (j + 1) % n;
+                j = (i - 1 + n) % n;
+                i = start;
+                length = n - length;
+            }
+            for (int s = 0; s < length / 2; s++) {
+                int left = (i + s) % n;
+                int right = (j - s + n) % n;
+                int temp = tour[left];
+                tour[left] = tour[right];
+                tour[right] = temp;
+                position[tour[left]] = left;
+                position[tour[right]] = right;
+            }
+        }
+
+        private boolean orOptPass() {
+            boolean improved = false;
+            for (int length = 1; length <= MAX_SEGMENT && n >= length + 3; length++) {
+                for (int i = 0; i < n; i++) {
+                    if (checkDeadline(i)) {
+                        return improved;
+                    }
+                    if (tryMoveSegment(i, length)) {
+                        improved = true;
+                    }
+                }
+            }
+            return improved;
+        }
+
+        // Tries to move the segment tour[i .. i + length - 1] next to a neighbour of its first city.
+        private boolean tryMoveSegment(int i, int length) {
+            int first = tour[i];
+            int last = tour[(i + length - 1) % n];
+            int before = tour[(i - 1 + n) % n];
+            int after = tour[(i + length) % n];
+            long removeGain = d(before, first) + d(last, after) - d(before, after);
+            if (removeGain <= 0) {
+                return false;
+            }
+            for (int c : neighbourLists[first]) {
+                if (d(c, first) >= removeGain) {
+                    break;
+                }
+                if (inSegment(c, i, length)) {
+                    continue;
+                }
+                // Insert as ... c first .. last e ...
+                int e = next(c);
+                if (c != before && !inSegment(e, i, length)
+                        && d(c, first) + d(last, e) - d(c, e) < removeGain) {
+                    moveSegment(i, length, c, false);
+                    return true;
+                }
+                // Insert reversed as ... q last .. first c ...
+                int q = previous(c);
+                if (c != after && !inSegment(q, i, length)
+                        && d(q, last) + d(first, c) - d(q, c) < removeGain) {
+                    moveSegment(i, length, q, true);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean inSegment(int city, int i, int length) {
+            return (position[city] - i + n) % n < length;
+        }
+
+        // Rebuilds the tour with the segment removed and inserted after city, O(n).
+        private void moveSegment(int i, int length, int city, boolean reversed) {
+            int[] segment = new int[length];
+            for (int s = 0; s < length; s++) {
+                segment[s] = tour[(i + s) % n];
+            }
+            int[] rest = new int[n - length];
+            for (int s = 0; s < n - length; s++) {
+                rest[s] = tour[(i + length + s) % n];
+            }
+            int size = 0;
+            for (int element : rest) {
+                tour[size++] = element;
+                if (element == city) {
+                    for (int s = 0; s < length; s++) {
+                        tour[size++] = segment[reversed ? length - 1 - s : s];
+                    }
+                }
+            }
+            for (int s = 0; s < n; s++) {
+                position[tour[s]] = s;
+            }
+        }
+    }
+}
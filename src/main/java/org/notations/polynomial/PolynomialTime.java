@@ -13,6 +13,11 @@ package org.notations.polynomial;
  */
 public class PolynomialTime {
 
+    // Below this fraction of non-zero elements, a sparse kernel beats the dense loops.
+    private static final double SPARSE_DENSITY_THRESHOLD = 0.1;
+
+    private final TupleEnumerator tupleEnumerator = new TupleEnumerator();
+
     /**
      * <h2> Quadratic Time - O(n^2): Bubble Sort </h2>
      * <p> Bubble Sort is a sorting algorithm that
@@ -62,6 +67,70 @@ public class PolynomialTime {
         return result;
     }
 
+    /**
+     * <h2> Matrix Multiplication - Choosing Between Dense and Sparse </h2>
+     * <p> When most elements of a matrix are zero, most of the multiplications done by
+     * matrixMultiplication are multiplications by zero.
+     * This method counts the non-zeros of the inputs first (O(n * m + m * p)) and,
+     * if one of them is sparse enough, multiplies with a sparse kernel
+     * ({@link CsrMatrix} or {@link CscMatrix}) that only visits non-zero elements.
+     * Otherwise it falls back to the dense O(n^3) loops.</p>
+     * @param A matrix 1
+     * @param B matrix 2
+     * @return product of the matrices
+     */
+    public int[][] multiplyAdaptive(int[][] A, int[][] B) {
+        if (density(A) <= SPARSE_DENSITY_THRESHOLD) {
+            return CsrMatrix.fromDense(A).multiply(B);
+        }
+        if (density(B) <= SPARSE_DENSITY_THRESHOLD) {
+            return CscMatrix.fromDense(B).leftMultiply(A);
+        }
+        return matrixMultiplication(A, B);
+    }
+
+    private double density(int[][] matrix) {
+        long elements = 0;
+        long nonZeros = 0;
+        for (int[] row : matrix) {
+            elements += row.length;
+            for (int element : row) {
+                if (element != 0) {
+                    nonZeros++;
+                }
+            }
+        }
+        return elements == 0 ? 1 : (double) nonZeros / elements;
+    }
+
+    /**
+     * <h2> Quadratic Time - O(n^2): Closest Pair of Points </h2>
+     * <p> Compares the distance of every pair of points, n(n-1)/2 comparisons.
+     * The pairs are enumerated by {@link TupleEnumerator}: only i &lt; j, tile by tile so the
+     * coordinates being compared stay in the cache, and spread over all cores.
+     * Every worker keeps its own minimum, and the minimums are combined at the end.</p>
+     * @param x x coordinates of the points
+     * @param y y coordinates of the points, same length as x
+     * @return smallest distance between two different points, Double.POSITIVE_INFINITY for fewer than 2 points
+     */
+    public double closestPairDistance(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        double[] min = tupleEnumerator.forEachPair(x.length, true,
+                () -> new double[]{Double.POSITIVE_INFINITY},
+                (best, i, j) -> {
+                    double dx = x[i] - x[j];
+                    double dy = y[i] - y[j];
+                    double squared = dx * dx + dy * dy;
+                    if (squared < best[0]) {
+                        best[0] = squared;
+                    }
+                },
+                (a, b) -> a[0] <= b[0] ? a : b);
+        return Math.sqrt(min[0]);
+    }
+
     /**
      * <h2> Quartic Time - O(n^4): Polynomial Evaluation </h2>
      * <p> Evaluating a polynomial with coefficients using nested loops
@@ -0,0 +1,116 @@
+package org.notations.polynomial;
+
+import org.notations.exponential.ExponentialTime;
+import org.notations.factorial.FactorialTime;
+import org.notations.factorial.ParallelTSPSolver;
+import org.notations.factorial.TSPSolution;
+
+import java.util.Random;
+
+/**
+ * <h1> TSP Comparison Harness </h1>
+ * <p> Measures how far {@link HeuristicTSPSolver} is from the optimum.
+ * On random instances small enough for the exact solvers, the optimal cost is computed by
+ * {@link ExponentialTime#solveTSP(int[][])}, {@link FactorialTime#solveTSP(int[][])} and
+ * {@link ParallelTSPSolver} (which must agree), and compared with the heuristic tour.</p>
+ * <p> The optimality gap of an instance is (heuristic cost - optimal cost) / optimal cost.</p>
+ */
+public class TSPComparisonHarness {
+
+    private final HeuristicTSPSolver heuristic;
+
+    /**
+     * @param heuristic solver to measure
+     */
+    public TSPComparisonHarness(HeuristicTSPSolver heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * <h2> Report </h2>
+     * @param instances number of instances compared
+     * @param optimalCount instances where the heuristic found an optimal tour
+     * @param meanGapPercent mean optimality gap, in percent
+     * @param maxGapPercent worst optimality gap, in percent
+     * @param exactNanos total time of the parallel exact solver
+     * @param heuristicNanos total time of the heuristic solver
+     */
+    public record Report(int instances, int optimalCount, double meanGapPercent, double maxGapPercent,
+                         long exactNanos, long heuristicNanos) {
+    }
+
+    /**
+     * <h2> compare </h2>
+     * @param instances number of random instances
+     * @param cities number of cities per instance, at least 2 and small enough for the exact solvers
+     *               (about 11 or less)
+     * @param seed seed of the random instances, the same seed gives the same instances
+     * @return summary of the optimality gaps
+     * @throws IllegalArgumentException if there are fewer than 2 cities, a single city has no tour to compare
+     * @throws IllegalStateException if the exact solvers disagree
+     */
+    public Report compare(int instances, int cities, long seed) {
+        if (cities < 2) {
+            throw new IllegalArgumentException("At least 2 cities are needed: " + cities);
+        }
+        Random random = new Random(seed);
+        ExponentialTime exponentialTime = new ExponentialTime();
+        FactorialTime factorialTime = new FactorialTime();
+        ParallelTSPSolver parallelSolver = new ParallelTSPSolver();
+
+        int optimalCount = 0;
+        double gapSum = 0;
+        double maxGap = 0;
+        long exactNanos = 0;
+        long heuristicNanos = 0;
+        for (int instance = 0; instance < instances; instance++) {
+            int[][] graph = randomEuclideanInstance(cities, random);
+
+            long start = System.nanoTime();
+            long optimal = parallelSolver.solve(graph).cost();
+            exactNanos += System.nanoTime() - start;
+            if (exponentialTime.solveTSP(graph) != optimal || factorialTime.solveTSP(graph) != optimal) {
+                throw new IllegalStateException("Exact solvers disagree on instance " + instance);
+            }
+
+            start = System.nanoTime();
+            TSPSolution solution = heuristic.solve(graph);
+            heuristicNanos += System.nanoTime() - start;
+
+            double gap = optimal == 0 ? 0 : 100.0 * (solution.cost() - optimal) / optimal;
+            if (solution.cost() == optimal) {
+                optimalCount++;
+            }
+            gapSum += gap;
+            maxGap = Math.max(maxGap, gap);
+        }
+        return new Report(instances, optimalCount, instances == 0 ? 0 : gapSum / instances, maxGap,
+                exactNanos, heuristicNanos);
+    }
+
+    /**
+     * <h2> randomEuclideanInstance </h2>
+     * <p> Cities at random points of a 1000 x 1000 square, with rounded Euclidean distances
+     * (at least 1 between different cities). The distances are symmetric.</p>
+     * @param cities number of cities
+     * @param random source of the points
+     * @return distance matrix
+     */
+    public int[][] randomEuclideanInstance(int cities, Random random) {
+        int[] x = new int[cities];
+        int[] y = new int[cities];
+        for (int i = 0; i < cities; i++) {
+            x[i] = random.nextInt(1000);
+            y[i] = random.nextInt(1000);
+        }
+        int[][] graph = new int[cities][cities];
+        for (int i = 0; i < cities; i++) {
+            for (int j = i + 1; j < cities; j++) {
+                int distance = (int) Math.max(1, Math.round(Math.hypot(x[i] - x[j], y[i] - y[j])));
+                graph[i][j] = distance;
+                graph[j][i] = distance;
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,230 @@
+package org.notations.polynomial;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * <h1> Parallel Tuple Enumeration: O(n^k) work split over all cores </h1>
+ * <p> Runs the k nested loops of a polynomial brute force (all pairs, all triples, ...)
+ * over the indexes 0..n-1 on a fork-join pool, calling a visitor for every index tuple.</p>
+ * <p> <h3> 1) Symmetric tuples </h3>
+ * When the order inside a tuple does not matter (the distance of i and j is the distance of j and i),
+ * only the tuples i &lt; j &lt; k are visited: n(n-1)/2 pairs instead of n^2,
+ * n(n-1)(n-2)/6 triples instead of n^3, and no tuple repeats an index.</p>
+ * <p> <h3> 2) Tiling </h3>
+ * Nested loops over all of 0..n-1 stream the whole input through the cache for every outer index.
+ * Instead, the indexes are cut into tiles of a few hundred, and the loops run tile by tile:
+ * the data of one tile per dimension stays in the cache while every tuple of those tiles is visited.</p>
+ * <p> <h3> 3) Work stealing and accumulators </h3>
+ * Every first-dimension tile is a fork-join task, and idle workers steal tasks from busy ones,
+ * which evens out the unequal amount of work of the tiles in the symmetric case.
+ * The visitor adds its results to an accumulator that belongs to the current worker thread,
+ * so no locks or atomics are needed while visiting. The accumulators of all workers
+ * are combined once, at the end.</p>
+ */
+public class TupleEnumerator {
+
+    private static final int DEFAULT_TILE_SIZE = 256;
+    // Minimum number of first-dimension tiles per worker, so the work can be balanced.
+    private static final int TILES_PER_THREAD = 8;
+
+    /**
+     * Visits a pair of indexes.
+     */
+    @FunctionalInterface
+    public interface PairVisitor<A> {
+        void visit(A accumulator, int i, int j);
+    }
+
+    /**
+     * Visits a triple of indexes.
+     */
+    @FunctionalInterface
+    public interface TripleVisitor<A> {
+        void visit(A accumulator, int i, int j, int k);
+    }
+
+    /**
+     * Visits a tuple of indexes. The array is reused for the next tuple, copy it to keep it.
+     */
+    @FunctionalInterface
+    public interface TupleVisitor<A> {
+        void visit(A accumulator, int[] tuple);
+    }
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+
+    public TupleEnumerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * @param pool fork-join pool that runs the tiles
+     * @param tileSize indexes per tile, the data of a tile should fit in the L1 or L2 cache
+     */
+    public TupleEnumerator(ForkJoinPool pool, int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("tileSize must be positive: " + tileSize);
+        }
+        this.pool = pool;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * <h2> forEachPair - O(n^2) </h2>
+     * @param n number of indexes
+     * @param symmetric true for the pairs i &lt; j only, false for all n^2 ordered pairs
+     * @param accumulator creates an empty accumulator, called once per worker thread
+     * @param visitor adds a pair to an accumulator
+     * @param combiner combines two accumulators
+     * @return combined accumulator of all workers
+     */
+    public <A> A forEachPair(int n, boolean symmetric, Supplier<A> accumulator, PairVisitor<A> visitor,
+                             BinaryOperator<A> combiner) {
+        int tile = tileSize(n);
+        int tiles = (n + tile - 1) / tile;
+        return run(tiles, accumulator, combiner, (tileI, result) -> {
+            int iFrom = tileI * tile;
+            int iTo = Math.min(iFrom + tile, n);
+            for (int tileJ = symmetric ? tileI : 0; tileJ < tiles; tileJ++) {
+                int jFrom = tileJ * tile;
+                int jTo = Math.min(jFrom + tile, n);
+                for (int i = iFrom; i < iTo; i++) {
+                    for (int j = symmetric ? Math.max(jFrom, i + 1) : jFrom; j < jTo; j++) {
+                        visitor.visit(result, i, j);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * <h2> forEachTriple - O(n^3) </h2>
+     * @param n number of indexes
+     * @param symmetric true for the triples i &lt; j &lt; k only, false for all n^3 ordered triples
+     * @param accumulator creates an empty accumulator, called once per worker thread
+     * @param visitor adds a triple to an accumulator
+     * @param combiner combines two accumulators
+     * @return combined accumulator of all workers
+     */
+    public <A> A forEachTriple(int n, boolean symmetric, Supplier<A> accumulator, TripleVisitor<A> visitor,
+                               BinaryOperator<A> combiner) {
+        int tile = tileSize(n);
+        int tiles = (n + tile - 1) / tile;
+        return run(tiles, accumulator, combiner, (tileI, result) -> {
+            int iFrom = tileI * tile;
+            int iTo = Math.min(iFrom + tile, n);
+            for (int tileJ = symmetric ? tileI : 0; tileJ < tiles; tileJ++) {
+                int jFrom = tileJ * tile;
+                int jTo = Math.min(jFrom + tile, n);
+                for (int tileK = symmetric ? tileJ : 0; tileK < tiles; tileK++) {
+                    int kFrom = tileK * tile;
+                    int kTo = Math.min(kFrom + tile, n);
+                    for (int i = iFrom; i < iTo; i++) {
+                        for (int j = symmetric ? Math.max(jFrom, i + 1) : jFrom; j < jTo; j++) {
+                            for (int k = symmetric ? Math.max(kFrom, j + 1) : kFrom; k < kTo; k++) {
+                                visitor.visit(result, i, j, k);
+                            }
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * <h2> forEachTuple - O(n^k) </h2>
+     * <p> The general form of {@link #forEachPair} and {@link #forEachTriple} for any number of nested loops.
+     * The tuple is passed as an array, so prefer the pair and triple versions when they fit.</p>
+     * @param n number of indexes
+     * @param k number of indexes per tuple
+     * @param symmetric true for the strictly increasing tuples only, false for all n^k ordered tuples
+     * @param accumulator creates an empty accumulator, called once per worker thread
+     * @param visitor adds a tuple to an accumulator
+     * @param combiner combines two accumulators
+     * @return combined accumulator of all workers
+     */
+    public <A> A forEachTuple(int n, int k, boolean symmetric, Supplier<A> accumulator, TupleVisitor<A> visitor,
+                              BinaryOperator<A> combiner) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        int tile = tileSize(n);
+        int tiles = (n + tile - 1) / tile;
+        return run(tiles, accumulator, combiner, (tileI, result) -> {
+            int[] tileTuple = new int[k];
+            int[] tuple = new int[k];
+            tileTuple[0] = tileI;
+            visitTiles(n, tile, tiles, symmetric, tileTuple, 1, tuple, result, visitor);
+        });
+    }
+
+    // Chooses the tiles of dimensions depth..k-1, then visits the tuples of the chosen tiles.
+    private <A> void visitTiles(int n, int tile, int tiles, boolean symmetric, int[] tileTuple, int depth,
+                                int[] tuple, A result, TupleVisitor<A> visitor) {
+        if (depth == tileTuple.length) {
+            visitIndexes(n, tile, symmetric, tileTuple, 0, tuple, result, visitor);
+            return;
+        }
+        for (int t = symmetric ? tileTuple[depth - 1] : 0; t < tiles; t++) {
+            tileTuple[depth] = t;
+            visitTiles(n, tile, tiles, symmetric, tileTuple, depth + 1, tuple, result, visitor);
+        }
+    }
+
+    private <A> void visitIndexes(int n, int tile, boolean symmetric, int[] tileTuple, int depth,
+                                  int[] tuple, A result, TupleVisitor<A> visitor) {
+        if (depth == tuple.length) {
+            visitor.visit(result, tuple);
+            return;
+        }
+        int from = tileTuple[depth] * tile;
+        int to = Math.min(from + tile, n);
+        if (symmetric && depth > 0) {
+            from = Math.max(from, tuple[depth - 1] + 1);
+        }
+        for (int index = from; index < to; index++) {
+            tuple[depth] = index;
+            visitIndexes(n, tile, symmetric, tileTuple, depth + 1, tuple, result, visitor);
+        }
+    }
+
+    // Smaller tiles for small inputs, so every worker gets some tiles.
+    private int tileSize(int n) {
+        int minTiles = pool.getParallelism() * TILES_PER_THREAD;
+        return Math.max(1, Math.min(tileSize, n / minTiles));
+    }
+
+    @FunctionalInterface
+    private interface TileTask<A> {
+        void run(int firstTile, A accumulator);
+    }
+
+    private <A> A run(int tiles, Supplier<A> accumulator, BinaryOperator<A> combiner, TileTask<A> tileTask) {
+        Map<Thread, A> accumulators = new ConcurrentHashMap<>();
+        List<RecursiveAction> tasks = new ArrayList<>(tiles);
+        for (int tile = 0; tile < tiles; tile++) {
+            int firstTile = tile;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    tileTask.run(firstTile, accumulators.computeIfAbsent(Thread.currentThread(), thread -> accumulator.get()));
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        return accumulators.values().stream().reduce(combiner).orElseGet(accumulator);
+    }
+}
@@ -1,5 +1,7 @@
 package org.notations.quadratic;
 
+import java.util.function.ToLongFunction;
+
 /**
  * <h1> Quadratic Time: O(n^2) </h1>
  * <p> The algorithm's runtime grows with the square of the input size.
@@ -80,6 +82,143 @@ public class QuadraticTime {
         }
     }
 
+    /**
+     * <h2> Bubble Sort - long </h2>
+     * @param array longs array to sort
+     */
+    public void bubbleSort(long[] array) {
+        int n = array.length;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = 0; j < n - i - 1; j++) {
+                if (array[j] > array[j + 1]) {
+                    long temp = array[j];
+                    array[j] = array[j + 1];
+                    array[j + 1] = temp;
+                }
+            }
+        }
+    }
+
+    /**
+     * <h2> Bubble Sort - double </h2>
+     * <p> Orders the values by {@link Double#compare}: -0.0 before 0.0, and NaN after every other value,
+     * the same order as {@link java.util.Arrays#sort(double[])}.</p>
+     * @param array doubles array to sort
+     */
+    public void bubbleSort(double[] array) {
+        int n = array.length;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = 0; j < n - i - 1; j++) {
+                if (Double.compare(array[j], array[j + 1]) > 0) {
+                    double temp = array[j];
+                    array[j] = array[j + 1];
+                    array[j + 1] = temp;
+                }
+            }
+        }
+    }
+
+    /**
+     * <h2> Selection Sort - long </h2>
+     * @param array longs array to sort
+     */
+    public void selectionSort(long[] array) {
+        int n = array.length;
+        for (int i = 0; i < n - 1; i++) {
+            int minIndex = i;
+            for (int j = i + 1; j < n; j++) {
+                if (array[j] < array[minIndex]) {
+                    minIndex = j;
+                }
+            }
+            long temp = array[i];
+            array[i] = array[minIndex];
+            array[minIndex] = temp;
+        }
+    }
+
+    /**
+     * <h2> Selection Sort - double </h2>
+     * <p> Orders the values by {@link Double#compare}, see {@link #bubbleSort(double[])}.</p>
+     * @param array doubles array to sort
+     */
+    public void selectionSort(double[] array) {
+        int n = array.length;
+        for (int i = 0; i < n - 1; i++) {
+            int minIndex = i;
+            for (int j = i + 1; j < n; j++) {
+                if (Double.compare(array[j], array[minIndex]) < 0) {
+                    minIndex = j;
+                }
+            }
+            double temp = array[i];
+            array[i] = array[minIndex];
+            array[minIndex] = temp;
+        }
+    }
+
+    /**
+     * <h2> Insertion Sort - long </h2>
+     * @param array longs array to sort
+     */
+    public void insertionSort(long[] array) {
+        int n = array.length;
+        for (int i = 1; i < n; i++) {
+            long key = array[i];
+            int j = i - 1;
+            while (j >= 0 && array[j] > key) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    /**
+     * <h2> Insertion Sort - double </h2>
+     * <p> Orders the values by {@link Double#compare}, see {@link #bubbleSort(double[])}.</p>
+     * @param array doubles array to sort
+     */
+    public void insertionSort(double[] array) {
+        int n = array.length;
+        for (int i = 1; i < n; i++) {
+            double key = array[i];
+            int j = i - 1;
+            while (j >= 0 && Double.compare(array[j], key) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = key;
+        }
+    }
+
+    /**
+     * <h2> Insertion Sort - By Key </h2>
+     * <p> Sorts objects by a long key without boxing it: every key is extracted once into a long[],
+     * and the keys and objects are shifted together. The sort is stable.</p>
+     * @param array objects to sort
+     * @param key extracts the sort key of an object
+     */
+    public <T> void insertionSortByLongKey(T[] array, ToLongFunction<? super T> key) {
+        int n = array.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.applyAsLong(array[i]);
+        }
+        for (int i = 1; i < n; i++) {
+            long currentKey = keys[i];
+            T current = array[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > currentKey) {
+                keys[j + 1] = keys[j];
+                array[j + 1] = array[j];
+                j--;
+            }
+            keys[j + 1] = currentKey;
+            array[j + 1] = current;
+        }
+    }
+
     /**
      * <h2> Brute Force String Matching </h2>
      * <p> checks every possible substring of the text to see